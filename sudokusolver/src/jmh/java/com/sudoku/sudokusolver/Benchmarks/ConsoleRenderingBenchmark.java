@@ -0,0 +1,105 @@
+package com.sudoku.sudokusolver.Benchmarks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sudoku.sudokusolver.Service.DLX;
+
+// Concurrent DLX throughput with and without rendering every solution to a shared console,
+// the way search used to print each grid cell by cell through System.out.
+// All threads share one PrintStream, so the printing variant also measures its lock.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+public class ConsoleRenderingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Console {
+        final PrintStream out = new PrintStream(OutputStream.nullOutputStream());
+    }
+
+    @State(Scope.Thread)
+    public static class Solver {
+        final DLX dlx = new DLX();
+        final int[][] grid = new int[9][9];
+        int[][][] boards;
+        int next;
+
+        @Setup
+        public void setUp() {
+            boards = Corpus.load("easy");
+        }
+
+        int[][] nextBoard() {
+            Corpus.copyInto(boards[next], grid);
+            next = next + 1 == boards.length ? 0 : next + 1;
+            return grid;
+        }
+    }
+
+    @Benchmark
+    public int[][] solve(Solver solver) {
+        int[][] grid = solver.nextBoard();
+        solver.dlx.solveSudoku(grid);
+        return grid;
+    }
+
+    @Benchmark
+    public int[][] solveAndPrint(Solver solver, Console console) {
+        int[][] grid = solver.nextBoard();
+        solver.dlx.solveSudoku(grid);
+        printGrid(grid, console.out);
+        return grid;
+    }
+
+    // The rendering search used to do on every solution
+    private static void printGrid(int[][] sudoku, PrintStream out) {
+        out.println("Sudoku solved:");
+        StringBuilder extBorder = new StringBuilder("+");
+        StringBuilder intBorder = new StringBuilder("|");
+        int counter = 1;
+        for (int i = 0; i < 23; i++) {
+            extBorder.append('-');
+            if (i > 0 && i % (7 * counter + counter - 1) == 0) {
+                intBorder.append('+');
+                counter++;
+            } else {
+                intBorder.append('-');
+            }
+        }
+        extBorder.append('+');
+        intBorder.append("|");
+
+        out.println(extBorder);
+        for (int i = 0; i < 9; i++) {
+            out.print("| ");
+            for (int j = 0; j < 9; j++) {
+                out.print(sudoku[i][j] + " ");
+                if ((j + 1) % 3 == 0) {
+                    out.print("| ");
+                }
+            }
+            out.println();
+            if ((i + 1) % 3 == 0 && (i + 1) < 9) {
+                out.println(intBorder);
+            }
+        }
+        out.println(extBorder + "\n");
+    }
+}
@@ -0,0 +1,46 @@
+package com.sudoku.sudokusolver.Benchmarks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.sudoku.sudokusolver.Service.SudokuFormat;
+
+// Puzzle corpora bundled under src/test/resources/puzzles, one 81-character puzzle per line:
+// easy (36 clues, unique), hard (well-known hard puzzles), seventeen (minimal 17-clue puzzles)
+// and unsolvable (unique puzzles with one extra clue that breaks them without a direct clash)
+final class Corpus {
+
+    private Corpus() {
+    }
+
+    static int[][][] load(String name) {
+        try (InputStream in = Corpus.class.getResourceAsStream("/puzzles/" + name + ".txt")) {
+            if (in == null) {
+                throw new IllegalArgumentException("Unknown corpus " + name);
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            List<int[][]> boards = new ArrayList<>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    boards.add(SudokuFormat.parseLine(line.trim()));
+                }
+            }
+            return boards.toArray(new int[0][][]);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read corpus " + name, e);
+        }
+    }
+
+    // Copy a board into a preallocated grid of the same size
+    static void copyInto(int[][] board, int[][] grid) {
+        for (int i = 0; i < board.length; i++) {
+            System.arraycopy(board[i], 0, grid[i], 0, board[i].length);
+        }
+    }
+}
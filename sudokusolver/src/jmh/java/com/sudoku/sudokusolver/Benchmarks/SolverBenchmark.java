@@ -0,0 +1,83 @@
+package com.sudoku.sudokusolver.Benchmarks;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.sudoku.sudokusolver.Service.Backtracking;
+import com.sudoku.sudokusolver.Service.Bitmask;
+import com.sudoku.sudokusolver.Service.DLX;
+import com.sudoku.sudokusolver.Service.Engine;
+import com.sudoku.sudokusolver.Service.EngineSelector;
+import com.sudoku.sudokusolver.Service.LogicSolver;
+import com.sudoku.sudokusolver.Service.ParallelDLX;
+import com.sudoku.sudokusolver.Service.SolverPool;
+
+// Solve time per puzzle for every engine and corpus. Each invocation solves the next puzzle
+// of the corpus, so the score is averaged over the whole corpus.
+// Backtracking needs seconds for some 17-clue puzzles; narrow the run with -p engine=DLX,BITMASK.
+// DLX_PARALLEL only pays off on hard or large boards and is left out unless asked for with -p engine=DLX_PARALLEL.
+// AUTO lets EngineSelector pick per puzzle, selection included, as /api/solve does; it should match
+// the fastest single engine on every corpus.
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SolverBenchmark {
+
+    @Param({ "DLX", "BACKTRACKING", "BITMASK", "LOGIC", "AUTO" })
+    public String engine;
+
+    @Param({ "easy", "hard", "seventeen", "unsolvable" })
+    public String corpus;
+
+    private int[][][] boards;
+    private final int[][] grid = new int[9][9];
+    private int next;
+    // null for AUTO
+    private Engine selected;
+    private DLX dlx;
+    private Backtracking backtracking;
+    private Bitmask bitmask;
+    private ParallelDLX parallelDLX;
+    private LogicSolver logic;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boards = Corpus.load(corpus);
+        selected = engine.equals("AUTO") ? null : Engine.fromName(engine);
+        dlx = new DLX();
+        backtracking = new Backtracking();
+        bitmask = new Bitmask();
+        logic = new LogicSolver();
+        SolverPool<DLX> solvers = new SolverPool<>(DLX::new, ForkJoinPool.getCommonPoolParallelism());
+        parallelDLX = new ParallelDLX(ForkJoinPool.commonPool(), size -> solvers);
+    }
+
+    @Benchmark
+    public boolean solve() {
+        Corpus.copyInto(boards[next], grid);
+        next = next + 1 == boards.length ? 0 : next + 1;
+        return switch (selected != null ? selected : EngineSelector.choose(grid)) {
+            case DLX -> dlx.solveSudoku(grid);
+            case BACKTRACKING -> backtracking.solveSudoku(grid);
+            case BITMASK -> bitmask.solveSudoku(grid);
+            case DLX_PARALLEL -> parallelDLX.solve(grid).getSolutionCount() == 1;
+            case LOGIC -> logic.solveSudoku(grid);
+        };
+    }
+}
@@ -1,10 +1,46 @@
 package com.sudoku.sudokusolver.Controller;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import com.sudoku.sudokusolver.Service.BatchResult;
+import com.sudoku.sudokusolver.Service.BatchService;
+import com.sudoku.sudokusolver.Service.Board;
+import com.sudoku.sudokusolver.Service.CandidateGrid;
+import com.sudoku.sudokusolver.Service.CellCandidates;
+import com.sudoku.sudokusolver.Service.ConstraintSet;
+import com.sudoku.sudokusolver.Service.CountResult;
+import com.sudoku.sudokusolver.Service.Deadline;
+import com.sudoku.sudokusolver.Service.Difficulty;
+import com.sudoku.sudokusolver.Service.Engine;
+import com.sudoku.sudokusolver.Service.Grading;
+import com.sudoku.sudokusolver.Service.Hint;
+import com.sudoku.sudokusolver.Service.PuzzleReservoir;
+import com.sudoku.sudokusolver.Service.SolveExecutor;
+import com.sudoku.sudokusolver.Service.SolveRejectedException;
+import com.sudoku.sudokusolver.Service.StreamFormat;
+import com.sudoku.sudokusolver.Service.StreamService;
+import com.sudoku.sudokusolver.Service.SudokuResult;
 import com.sudoku.sudokusolver.Service.SudokuService;
+import com.sudoku.sudokusolver.Service.VariantBoard;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import jakarta.servlet.http.HttpServletRequest;
+
 @RestController
 @RequestMapping("/api") // Add a common base path for better organization
 @CrossOrigin
@@ -13,39 +49,238 @@ public class API {
     @Autowired
     SudokuService service;
 
+    @Autowired
+    BatchService batchService;
+
+    @Autowired
+    StreamService streamService;
+
+    @Autowired
+    PuzzleReservoir reservoir;
+
+    @Autowired
+    SolveExecutor executor;
+
+    @Autowired
+    BoardSession session;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @GetMapping("/new")
-    public String getNewConfiguration() {
-        return service.newConfiguration();
+    public String getNewConfiguration(@RequestParam(defaultValue = "9") int size,
+                                      @RequestParam(required = false) String difficulty,
+                                      @RequestParam(required = false) Integer clues) {
+        if (difficulty != null || clues != null) {
+            return getUniqueConfiguration(size, difficulty, clues);
+        }
+        try {
+            // Board size is 9 by default, 4, 16 and 25 are also supported
+            return service.newConfiguration(size);
+        } catch (IllegalArgumentException e) {
+            return "{\"error\": \"Unsupported board size\"}";
+        }
     }
 
-    @PostMapping("/solve/dlx")
-    public String solveDLX(@RequestBody String configuration) {
+    // Puzzle with a unique solution, either with an exact clue count or in a difficulty band
+    private String getUniqueConfiguration(int size, String difficulty, Integer clues) {
+        if (size != 9) {
+            return "{\"error\": \"Unique puzzles are only generated for 9x9 boards\"}";
+        }
         try {
-            // Convert the JSON string configuration to a 2D integer array
-            int[][] board = objectMapper.readValue(configuration, int[][].class);
-    
-            // Solve the Sudoku puzzle
-            return service.solveSudokuDLX(board);
-        } catch (Exception e) {
+            Difficulty band = difficulty != null ? Difficulty.fromName(difficulty) : null;
+            if (clues == null) {
+                // Bands are served from puzzles generated ahead of time
+                return objectMapper.writeValueAsString(reservoir.take(band));
+            }
+            // Digging to an exact clue count runs many searches, so it waits for a solver thread like a solve
+            return executor.call(() -> service.newUniqueConfiguration(band, clues));
+        } catch (IllegalArgumentException e) {
+            return "{\"error\": \"Invalid difficulty or clue count\"}";
+        } catch (JsonProcessingException e) {
             e.printStackTrace();
-            return "{\"error\": \"Invalid configuration\"}";
+            return "{\"error\": \"Error processing JSON\"}";
         }
     }
 
+    @GetMapping("/cache/stats")
+    public String getCacheStats() {
+        return service.cacheStats();
+    }
+
+    // Boards are accepted as JSON, as an 81-character text/plain line or packed with 4 bits per cell,
+    // and results are written in whichever of these the Accept header asks for.
+    // Every search runs on the bounded solver pool, and requests beyond its queue get 429. The solve timeout
+    // starts when the request is admitted, so time spent in the queue counts against it.
+    // With stats=true the result also carries the search counters (nodes, depth, branching profile).
+    @PostMapping("/solve")
+    public SudokuResult solve(@RequestBody Board board, @RequestParam(defaultValue = "false") boolean stats) {
+        // The engine is picked from the board's size and candidate density and named in the result
+        Deadline deadline = service.newDeadline();
+        return executor.call(deadline, () -> service.solve(board.toGrid(), deadline, stats));
+    }
+
+    @PostMapping("/solve/dlx")
+    public SudokuResult solveDLX(@RequestBody Board board,
+                                 @RequestParam(defaultValue = "false") boolean parallel,
+                                 @RequestParam(defaultValue = "false") boolean stats) {
+        // Solve the Sudoku puzzle, splitting the search across the parallel DLX workers when asked to
+        Deadline deadline = service.newDeadline();
+        return executor.call(deadline, () -> service.solve(parallel ? Engine.DLX_PARALLEL : Engine.DLX, board.toGrid(), deadline, stats));
+    }
+
     @PostMapping("/solve/backtracking")
-    public String solveBacktracking(@RequestBody String configuration) {
+    public SudokuResult solveBacktracking(@RequestBody Board board, @RequestParam(defaultValue = "false") boolean stats) {
+        Deadline deadline = service.newDeadline();
+        return executor.call(deadline, () -> service.solve(Engine.BACKTRACKING, board.toGrid(), deadline, stats));
+    }
+
+    @PostMapping("/solve/bitmask")
+    public SudokuResult solveBitmask(@RequestBody Board board, @RequestParam(defaultValue = "false") boolean stats) {
+        Deadline deadline = service.newDeadline();
+        return executor.call(deadline, () -> service.solve(Engine.BITMASK, board.toGrid(), deadline, stats));
+    }
+
+    @PostMapping("/solve/logic")
+    public SudokuResult solveLogic(@RequestBody Board board, @RequestParam(defaultValue = "false") boolean stats) {
+        Deadline deadline = service.newDeadline();
+        return executor.call(deadline, () -> service.solve(Engine.LOGIC, board.toGrid(), deadline, stats));
+    }
+
+    // Diagonal (X) and jigsaw Sudoku, solved by DLX over the variant's own constraint families, e.g.
+    // {"board": [[...]], "regions": [[1, 1, 1, 2, ...], ...], "diagonals": true}
+    @PostMapping("/solve/variant")
+    public SudokuResult solveVariant(@RequestBody VariantBoard variant, @RequestParam(defaultValue = "false") boolean stats) {
+        ConstraintSet constraints = variant.toConstraintSet();
+        Deadline deadline = service.newDeadline();
+        return executor.call(deadline, () -> service.solve(constraints, variant.getBoard().toGrid(), deadline, stats));
+    }
+
+    // Difficulty of the board from the human techniques it needs, with a step trace when asked for
+    @PostMapping("/grade")
+    public Grading grade(@RequestBody Board board, @RequestParam(defaultValue = "false") boolean trace) {
+        Deadline deadline = service.newDeadline();
+        return executor.call(deadline, () -> service.grade(board.toGrid(), trace, deadline));
+    }
+
+    @PostMapping("/count")
+    public CountResult countSolutions(@RequestBody Board board,
+                                      @RequestParam(defaultValue = "2") int limit,
+                                      @RequestParam(defaultValue = "false") boolean parallel) {
+        // Count solutions up to the limit, 2 is enough to tell unique puzzles apart
+        Deadline deadline = service.newDeadline();
+        return executor.call(deadline, () -> service.count(board.toGrid(), limit, parallel, deadline));
+    }
+
+    // Candidate digits of every cell, from the row, column and box masks alone
+    @PostMapping("/candidates")
+    public Map<String, int[][][]> getCandidates(@RequestBody Board board) {
+        return Map.of("candidates", new CandidateGrid(board.toGrid()).candidateLists());
+    }
+
+    // Next forced placement, without solving unless no single applies
+    @PostMapping("/hint")
+    public Hint getHint(@RequestBody Board board) {
+        CandidateGrid grid = new CandidateGrid(board.toGrid());
+        return executor.call(() -> service.hint(grid));
+    }
+
+    // Start playing a board in this session; later moves, hints and candidates work on it incrementally
+    @PostMapping("/session")
+    public Map<String, int[][][]> startSession(@RequestBody Board board) {
+        CandidateGrid grid = new CandidateGrid(board.toGrid());
+        session.setGrid(grid);
+        return Map.of("candidates", grid.candidateLists());
+    }
+
+    // Fill (or clear, with value 0) one cell of the session board and return the candidates it changed
+    @PutMapping("/session/cell")
+    public List<CellCandidates> move(@RequestParam int row, @RequestParam int col, @RequestParam int value) {
+        CandidateGrid grid = session.getGrid();
+        synchronized (grid) {
+            grid.set(row, col, value);
+            return grid.affectedBy(row, col);
+        }
+    }
+
+    @GetMapping("/candidates")
+    public Map<String, int[][][]> getSessionCandidates() {
+        CandidateGrid grid = session.getGrid();
+        synchronized (grid) {
+            return Map.of("candidates", grid.candidateLists());
+        }
+    }
+
+    @GetMapping("/hint")
+    public Hint getSessionHint() {
+        CandidateGrid grid = session.getGrid();
+        return executor.call(() -> {
+            synchronized (grid) {
+                return service.hint(grid);
+            }
+        });
+    }
+
+    // A body that cannot be read as a board
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<String> invalidConfiguration(HttpMessageNotReadableException e) {
+        service.countInvalid();
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body("{\"error\": \"Invalid configuration\"}");
+    }
+
+    // A board rejected by the pre-solve checks, or a limit out of range, with the reason
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> invalidConfiguration(IllegalArgumentException e) {
+        service.countInvalid();
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("error", "Invalid configuration: " + e.getMessage()));
+    }
+
+    // Every solver thread is busy and the admission queue is full
+    @ExceptionHandler(SolveRejectedException.class)
+    public ResponseEntity<Map<String, String>> busy(SolveRejectedException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("error", "Server busy, try again later"));
+    }
+
+    @PostMapping(value = "/solve/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public BatchResult solveBatch(@RequestBody List<Board> boards,
+                                  @RequestParam(defaultValue = "dlx") String engine) {
+        // Solve all puzzles in parallel, results keep the input order
+        Engine solver = Engine.fromName(engine);
+        return batchService.solveAll(solver, boards.stream().map(Board::toGrid).toList());
+    }
+
+    @PostMapping(value = "/solve/batch", consumes = MediaType.TEXT_PLAIN_VALUE)
+    public BatchResult solveBatchLines(@RequestBody String puzzles,
+                                       @RequestParam(defaultValue = "dlx") String engine) {
+        // One puzzle per line in the 81-character format; unreadable lines come back INVALID with the reason
+        return batchService.solveLines(Engine.fromName(engine), puzzles);
+    }
+
+    @PostMapping(value = "/solve/stream", consumes = { MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<StreamingResponseBody> solveStream(HttpServletRequest request,
+                                                             @RequestParam(defaultValue = "ndjson") String format,
+                                                             @RequestParam(defaultValue = "true") boolean ordered) throws Exception {
+        StreamFormat streamFormat;
         try {
-            // Convert the JSON string configuration to a 2D integer array
-            int[][] board = objectMapper.readValue(configuration, int[][].class);
-    
-            // Solve the Sudoku puzzle
-            return service.solveSudokuBT(board);
-    
-        } catch (Exception e) {
-            e.printStackTrace();
-            return "{\"error\": \"Invalid configuration\"}";
+            streamFormat = StreamFormat.fromName(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(out -> out.write("{\"error\": \"Unknown format\"}".getBytes(StandardCharsets.UTF_8)));
+        }
+
+        // Once the response starts a stream waits for solver threads, so it is only turned away up front
+        if (executor.isSaturated()) {
+            throw new SolveRejectedException(executor.getQueueCapacity());
         }
+        // Puzzles are read from the request body and answered line by line while the client is still sending
+        BufferedReader reader = request.getReader();
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            streamService.solve(reader, writer, streamFormat, ordered);
+        };
+        MediaType contentType = streamFormat == StreamFormat.NDJSON ? MediaType.APPLICATION_NDJSON : MediaType.TEXT_PLAIN;
+        return ResponseEntity.ok().contentType(contentType).body(body);
     }
 }
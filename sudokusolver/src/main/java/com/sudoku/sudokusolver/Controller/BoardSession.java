@@ -0,0 +1,26 @@
+package com.sudoku.sudokusolver.Controller;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.SessionScope;
+
+import com.sudoku.sudokusolver.Service.CandidateGrid;
+
+// Board the player is working on, kept per HTTP session so each move updates candidates
+// incrementally instead of posting the whole board again
+@Component
+@SessionScope
+public class BoardSession {
+
+    private CandidateGrid grid;
+
+    public synchronized CandidateGrid getGrid() {
+        if (grid == null) {
+            throw new IllegalArgumentException("No board in this session, POST one to /api/session first");
+        }
+        return grid;
+    }
+
+    public synchronized void setGrid(CandidateGrid grid) {
+        this.grid = grid;
+    }
+}
@@ -0,0 +1,87 @@
+package com.sudoku.sudokusolver.Controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import com.sudoku.sudokusolver.Service.Board;
+import com.sudoku.sudokusolver.Service.SolveStatus;
+import com.sudoku.sudokusolver.Service.SudokuFormat;
+import com.sudoku.sudokusolver.Service.SudokuResult;
+
+// Compact wire formats for 9x9 boards next to JSON, picked by Content-Type and Accept:
+// text/plain is the 81-character line, application/x-sudoku-packed is 41 bytes with 4 bits per cell.
+// Requests are read into a Board; a result is written as the solution line or the status name,
+// or in packed form as one status byte (the SolveStatus ordinal) followed by the packed solution.
+public class CompactFormatConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final String PACKED_VALUE = "application/x-sudoku-packed";
+    public static final MediaType PACKED = MediaType.parseMediaType(PACKED_VALUE);
+
+    // Longest body worth reading: a line with a trailing newline, or a packed board
+    private static final int MAX_BODY = 128;
+
+    public CompactFormatConverter() {
+        super(MediaType.TEXT_PLAIN, PACKED);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == Board.class || clazz == SudokuResult.class;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return clazz == Board.class && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return clazz == SudokuResult.class && canWrite(mediaType);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        InputStream body = inputMessage.getBody();
+        byte[] bytes = body.readNBytes(MAX_BODY);
+        if (body.read() != -1) {
+            throw new HttpMessageNotReadableException("Board body too long", inputMessage);
+        }
+        try {
+            if (PACKED.includes(inputMessage.getHeaders().getContentType())) {
+                return SudokuFormat.unpack(bytes);
+            }
+            int length = bytes.length;
+            while (length > 0 && Character.isWhitespace(bytes[length - 1])) {
+                length--;
+            }
+            return SudokuFormat.parseLine(bytes, length);
+        } catch (IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException(e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        SudokuResult result = (SudokuResult) value;
+        boolean solved = result.getStatus() == SolveStatus.SOLVED && result.getBoard() != null
+                && result.getBoard().length == 9;
+        OutputStream out = outputMessage.getBody();
+        if (PACKED.includes(outputMessage.getHeaders().getContentType())) {
+            out.write(result.getStatus().ordinal());
+            if (solved) {
+                out.write(SudokuFormat.pack(result.getBoard()));
+            }
+        } else {
+            String line = solved ? SudokuFormat.toLine(result.getBoard()) : result.getStatus().name();
+            out.write((line + '\n').getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+}
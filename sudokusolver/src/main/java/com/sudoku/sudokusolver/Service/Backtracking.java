@@ -1,27 +1,79 @@
 package com.sudoku.sudokusolver.Service;
 
-public class Backtracking {
+public class Backtracking implements SudokuSolver {
 
-    private static final int SIZE = 9;
+    // Search statistics and deadline of the current solve, so an instance serves one solve at a time
+    private long nodeCount;
+    private long backtrackCount;
+    private int maxDepth;
+    private Deadline deadline = Deadline.none();
 
-    // Solve Sudoku using backtracking
-    public boolean solveSudoku(int[][] grid) {
-        for (int row = 0; row < SIZE; row++) {
-            for (int col = 0; col < SIZE; col++) {
+    // Solve Sudoku using backtracking, for any size x size grid where size is a perfect square,
+    // giving up with a SolveTimeoutException once the deadline expires
+    @Override
+    public boolean solveSudoku(int[][] grid, Deadline deadline) {
+        return solve(grid, deadline, true);
+    }
+
+    @Override
+    public boolean solveValidated(int[][] grid, Deadline deadline) {
+        return solve(grid, deadline, false);
+    }
+
+    private boolean solve(int[][] grid, Deadline deadline, boolean validate) {
+        this.nodeCount = 0;
+        this.backtrackCount = 0;
+        this.maxDepth = 0;
+        // Clashing givens or a cell without candidates would otherwise send the search through the whole space
+        if (validate && BoardValidator.check(grid) != null) {
+            return false;
+        }
+        this.deadline = deadline;
+        try {
+            return solve(grid, 0);
+        } finally {
+            this.deadline = Deadline.none();
+        }
+    }
+
+    // Number of placements tried by the last solve
+    public long getNodeCount() {
+        return nodeCount;
+    }
+
+    // Cells are filled in reading order and every digit is tried, so there is no branching choice to profile
+    @Override
+    public SearchStats getSearchStats() {
+        SearchStats stats = new SearchStats(nodeCount, backtrackCount);
+        stats.setMaxDepth(maxDepth);
+        return stats;
+    }
+
+    private boolean solve(int[][] grid, int depth) {
+        if ((++nodeCount & 0x3FF) == 0 && deadline.isExpired()) {
+            throw new SolveTimeoutException(nodeCount);
+        }
+        if (depth > maxDepth) {
+            maxDepth = depth;
+        }
+        int size = grid.length;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
                 // Find the next empty cell
                 if (grid[row][col] == 0) {
-                    // Try each number from 1 to 9
-                    for (int num = 1; num <= SIZE; num++) {
+                    // Try each number from 1 to size
+                    for (int num = 1; num <= size; num++) {
                         if (isValid(grid, row, col, num)) {
                             // If it's valid, place the number
                             grid[row][col] = num;
 
                             // Recursively attempt to solve the rest of the grid
-                            if (solveSudoku(grid)) {
+                            if (solve(grid, depth + 1)) {
                                 return true; // Solution found
                             }
 
                             // Backtrack: undo the current cell for next attempts
+                            backtrackCount++;
                             grid[row][col] = 0;
                         }
                     }
@@ -34,25 +86,28 @@ public class Backtracking {
 
     // Check if placing num at grid[row][col] is valid
     private boolean isValid(int[][] grid, int row, int col, int num) {
+        int size = grid.length;
+        int box = (int) Math.sqrt(size);
+
         // Check row
-        for (int c = 0; c < SIZE; c++) {
+        for (int c = 0; c < size; c++) {
             if (grid[row][c] == num) {
                 return false;
             }
         }
 
         // Check column
-        for (int r = 0; r < SIZE; r++) {
+        for (int r = 0; r < size; r++) {
             if (grid[r][col] == num) {
                 return false;
             }
         }
 
-        // Check 3x3 box
-        int boxStartRow = row - row % 3;
-        int boxStartCol = col - col % 3;
-        for (int r = boxStartRow; r < boxStartRow + 3; r++) {
-            for (int c = boxStartCol; c < boxStartCol + 3; c++) {
+        // Check box
+        int boxStartRow = row - row % box;
+        int boxStartCol = col - col % box;
+        for (int r = boxStartRow; r < boxStartRow + box; r++) {
+            for (int c = boxStartCol; c < boxStartCol + box; c++) {
                 if (grid[r][c] == num) {
                     return false;
                 }
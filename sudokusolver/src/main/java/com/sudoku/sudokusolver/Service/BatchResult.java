@@ -0,0 +1,30 @@
+package com.sudoku.sudokusolver.Service;
+
+import java.util.List;
+
+public class BatchResult {
+    private List<SudokuResult> results;
+    private String duration;
+
+    public BatchResult(List<SudokuResult> results, String duration) {
+        this.results = results;
+        this.duration = duration;
+    }
+
+    // Getters and Setters
+    public List<SudokuResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<SudokuResult> results) {
+        this.results = results;
+    }
+
+    public String getDuration() {
+        return duration;
+    }
+
+    public void setDuration(String duration) {
+        this.duration = duration;
+    }
+}
@@ -0,0 +1,93 @@
+package com.sudoku.sudokusolver.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+// Solves a batch as chunks of boards on the solver threads of SolveExecutor, at most parallelism chunks
+// at a time, so a batch shares the cores with single-board requests. A chunk the executor turns away
+// fails the whole batch with a SolveRejectedException.
+@Service
+public class BatchService {
+
+    // Boards solved by one task, so a large batch takes a handful of queue slots instead of one per board
+    private static final int CHUNK = 16;
+
+    private final SudokuService service;
+    private final SolveExecutor executor;
+    private final int parallelism;
+
+    public BatchService(SudokuService service, SolveExecutor executor,
+                        @Value("${sudoku.batch.parallelism:0}") int parallelism) {
+        this.service = service;
+        this.executor = executor;
+        this.parallelism = parallelism > 0 ? parallelism : executor.getThreads();
+    }
+
+    // Solve every board in parallel; results keep the input order
+    public BatchResult solveAll(Engine engine, List<int[][]> boards) {
+        long startTime = System.nanoTime();
+        SudokuResult[] results = new SudokuResult[boards.size()];
+        ArrayDeque<Future<?>> inFlight = new ArrayDeque<>(parallelism);
+        try {
+            for (int from = 0; from < results.length; from += CHUNK) {
+                if (inFlight.size() == parallelism) {
+                    executor.await(inFlight.poll());
+                }
+                int start = from;
+                int end = Math.min(from + CHUNK, results.length);
+                inFlight.add(executor.submit(() -> {
+                    for (int i = start; i < end; i++) {
+                        results[i] = solveOne(engine, boards.get(i));
+                    }
+                    return null;
+                }));
+            }
+            while (!inFlight.isEmpty()) {
+                executor.await(inFlight.poll());
+            }
+        } finally {
+            // Only left over when a chunk failed or was turned away
+            inFlight.forEach(future -> future.cancel(true));
+        }
+        return new BatchResult(Arrays.asList(results), SudokuService.formatDuration(System.nanoTime() - startTime));
+    }
+
+    // Solve one puzzle per line in the 81-character format, blank lines are skipped
+    public BatchResult solveLines(Engine engine, String body) {
+        List<String> lines = new ArrayList<>();
+        for (String line : body.split("\\R")) {
+            if (!line.isBlank()) {
+                lines.add(line.trim());
+            }
+        }
+        List<int[][]> boards = new ArrayList<>(lines.size());
+        List<String> errors = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            try {
+                boards.add(SudokuFormat.parseLine(line));
+                errors.add(null);
+            } catch (IllegalArgumentException e) {
+                boards.add(null);
+                errors.add(e.getMessage());
+            }
+        }
+        BatchResult result = solveAll(engine, boards);
+        for (int i = 0; i < errors.size(); i++) {
+            if (errors.get(i) != null) {
+                result.getResults().get(i).setMessage(errors.get(i));
+            }
+        }
+        return result;
+    }
+
+    // Malformed boards come back INVALID from the service's pre-solve checks
+    private SudokuResult solveOne(Engine engine, int[][] board) {
+        return service.solve(engine, board);
+    }
+}
@@ -0,0 +1,270 @@
+package com.sudoku.sudokusolver.Service;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Constraint-propagation solver: candidates are kept as bitmasks per row, column and box,
+// naked and hidden singles are placed until nothing changes, then the search branches on
+// the cell with the fewest candidates
+public class Bitmask implements SudokuSolver {
+
+    // Unit tables are built once per board size
+    private static final Map<Integer, Layout> LAYOUTS = new ConcurrentHashMap<>();
+
+    // Units containing each cell, and the cells of each unit.
+    // Masks 0..size-1 are rows, then columns, then boxes.
+    private static final class Layout {
+        final int size;
+        final int cells;
+        final int all;
+        final int unitNb;
+        final int[] rowOf;
+        final int[] colOf;
+        final int[] boxOf;
+        final int[][] units;
+
+        Layout(int size) {
+            int box = (int) Math.sqrt(size);
+            this.size = size;
+            this.cells = size * size;
+            this.all = (1 << size) - 1;
+            this.unitNb = 3 * size;
+            this.rowOf = new int[cells];
+            this.colOf = new int[cells];
+            this.boxOf = new int[cells];
+            this.units = new int[unitNb][size];
+            int[] filled = new int[unitNb];
+            for (int cell = 0; cell < cells; cell++) {
+                int row = cell / size;
+                int col = cell % size;
+                rowOf[cell] = row;
+                colOf[cell] = size + col;
+                boxOf[cell] = 2 * size + (row / box) * box + col / box;
+                units[rowOf[cell]][filled[rowOf[cell]]++] = cell;
+                units[colOf[cell]][filled[colOf[cell]]++] = cell;
+                units[boxOf[cell]][filled[boxOf[cell]]++] = cell;
+            }
+        }
+    }
+
+    private final Layout layout;
+    private final int[] rowOf;
+    private final int[] colOf;
+    private final int[] boxOf;
+
+    // Current cell values (0 when empty) and digits used per unit, bit d-1 for digit d
+    private final int[] cells;
+    private final int[] used;
+    private int empty;
+    // Saved state for every search level, so backtracking is a copy and not an undo log
+    private final int[][] savedCells;
+    private final int[][] savedUsed;
+    private final int[] savedEmpty;
+    // Search statistics and deadline of the current solve
+    private long nodeCount;
+    private long backtrackCount;
+    private int maxDepth;
+    // Branching decisions by the candidate count of the chosen cell
+    private final long[] branching;
+    private Deadline deadline = Deadline.none();
+
+    // Solver for classic 9x9 boards
+    public Bitmask() {
+        this(9);
+    }
+
+    // Solver for boardSize x boardSize boards, where boardSize is a perfect square up to 25
+    public Bitmask(int boardSize) {
+        layout = LAYOUTS.computeIfAbsent(boardSize, Layout::new);
+        rowOf = layout.rowOf;
+        colOf = layout.colOf;
+        boxOf = layout.boxOf;
+        cells = new int[layout.cells];
+        used = new int[layout.unitNb];
+        savedCells = new int[layout.cells + 1][layout.cells];
+        savedUsed = new int[layout.cells + 1][layout.unitNb];
+        savedEmpty = new int[layout.cells + 1];
+        branching = new long[boardSize + 1];
+    }
+
+    public int getBoardSize() {
+        return layout.size;
+    }
+
+    // Solve Sudoku by bitmask constraint propagation, giving up with a SolveTimeoutException once the deadline expires
+    @Override
+    public boolean solveSudoku(int[][] grid, Deadline deadline) {
+        return solve(grid, deadline, true);
+    }
+
+    @Override
+    public boolean solveValidated(int[][] grid, Deadline deadline) {
+        return solve(grid, deadline, false);
+    }
+
+    private boolean solve(int[][] grid, Deadline deadline, boolean validate) {
+        if (grid.length != layout.size) {
+            throw new IllegalArgumentException("Expected a " + layout.size + "x" + layout.size + " board");
+        }
+        nodeCount = 0;
+        backtrackCount = 0;
+        maxDepth = 0;
+        Arrays.fill(branching, 0);
+        // Values out of range would set bits outside the masks, so bad boards never reach load()
+        if (validate && BoardValidator.check(grid) != null) {
+            return false;
+        }
+        this.deadline = deadline;
+        try {
+            if (!load(grid) || !search(0)) {
+                return false;
+            }
+        } finally {
+            this.deadline = Deadline.none();
+        }
+        int size = layout.size;
+        for (int cell = 0; cell < layout.cells; cell++) {
+            grid[cell / size][cell % size] = cells[cell];
+        }
+        return true;
+    }
+
+    // Copy the givens into the masks, false if two givens clash
+    private boolean load(int[][] grid) {
+        Arrays.fill(used, 0);
+        int size = layout.size;
+        empty = layout.cells;
+        for (int cell = 0; cell < layout.cells; cell++) {
+            int value = grid[cell / size][cell % size];
+            cells[cell] = 0;
+            if (value != 0) {
+                int bit = 1 << (value - 1);
+                if (((used[rowOf[cell]] | used[colOf[cell]] | used[boxOf[cell]]) & bit) != 0) {
+                    return false;
+                }
+                place(cell, bit);
+            }
+        }
+        return true;
+    }
+
+    private void place(int cell, int bit) {
+        cells[cell] = Integer.numberOfTrailingZeros(bit) + 1;
+        used[rowOf[cell]] |= bit;
+        used[colOf[cell]] |= bit;
+        used[boxOf[cell]] |= bit;
+        empty--;
+    }
+
+    private int candidates(int cell) {
+        return ~(used[rowOf[cell]] | used[colOf[cell]] | used[boxOf[cell]]) & layout.all;
+    }
+
+    // Number of search calls made by the last solve
+    public long getNodeCount() {
+        return nodeCount;
+    }
+
+    @Override
+    public SearchStats getSearchStats() {
+        SearchStats stats = new SearchStats(nodeCount, backtrackCount);
+        stats.setMaxDepth(maxDepth);
+        stats.setBranching(branching.clone());
+        return stats;
+    }
+
+    private boolean search(int depth) {
+        if ((++nodeCount & 0xFF) == 0 && deadline.isExpired()) {
+            throw new SolveTimeoutException(nodeCount);
+        }
+        if (depth > maxDepth) {
+            maxDepth = depth;
+        }
+        if (!propagate()) {
+            return false;
+        }
+        if (empty == 0) {
+            return true;
+        }
+
+        // Branch on the most constrained cell
+        int best = -1;
+        int bestCount = layout.size + 1;
+        for (int cell = 0; cell < layout.cells && bestCount > 2; cell++) {
+            if (cells[cell] == 0) {
+                int count = Integer.bitCount(candidates(cell));
+                if (count < bestCount) {
+                    best = cell;
+                    bestCount = count;
+                }
+            }
+        }
+
+        branching[bestCount]++;
+
+        System.arraycopy(cells, 0, savedCells[depth], 0, layout.cells);
+        System.arraycopy(used, 0, savedUsed[depth], 0, layout.unitNb);
+        savedEmpty[depth] = empty;
+        for (int mask = candidates(best); mask != 0; mask &= mask - 1) {
+            place(best, mask & -mask);
+            if (search(depth + 1)) {
+                return true;
+            }
+            backtrackCount++;
+            System.arraycopy(savedCells[depth], 0, cells, 0, layout.cells);
+            System.arraycopy(savedUsed[depth], 0, used, 0, layout.unitNb);
+            empty = savedEmpty[depth];
+        }
+        return false;
+    }
+
+    // Place naked and hidden singles until a fixpoint, false on a contradiction
+    private boolean propagate() {
+        boolean changed = true;
+        while (changed && empty > 0) {
+            changed = false;
+
+            // Naked singles: a cell with exactly one candidate
+            for (int cell = 0; cell < layout.cells; cell++) {
+                if (cells[cell] == 0) {
+                    int mask = candidates(cell);
+                    if (mask == 0) {
+                        return false;
+                    }
+                    if ((mask & (mask - 1)) == 0) {
+                        place(cell, mask);
+                        changed = true;
+                    }
+                }
+            }
+
+            // Hidden singles: a digit that fits in only one cell of a unit
+            for (int unit = 0; unit < layout.unitNb; unit++) {
+                int once = 0;
+                int more = 0;
+                for (int cell : layout.units[unit]) {
+                    if (cells[cell] == 0) {
+                        int mask = candidates(cell);
+                        more |= once & mask;
+                        once |= mask;
+                    }
+                }
+                if ((once | used[unit]) != layout.all) {
+                    return false; // some digit has nowhere left to go in this unit
+                }
+                for (int hidden = once & ~more; hidden != 0; hidden &= hidden - 1) {
+                    int bit = hidden & -hidden;
+                    for (int cell : layout.units[unit]) {
+                        if (cells[cell] == 0 && (candidates(cell) & bit) != 0) {
+                            place(cell, bit);
+                            changed = true;
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,101 @@
+package com.sudoku.sudokusolver.Service;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+// A square board as one flat row-major array of cell values, 0 for empty. Request bodies bind
+// straight into it from JSON, the 81-character line or the packed 4-bit form, without going
+// through a String or an int[][] first. A Board always has a supported size and values in 0..size.
+@JsonDeserialize(using = Board.JsonReader.class)
+public final class Board {
+
+    private final int size;
+    private final byte[] cells;
+
+    public Board(int size, byte[] cells) {
+        if (!SudokuFormat.isSupportedSize(size)) {
+            throw new IllegalArgumentException("Unsupported board size " + size);
+        }
+        if (cells.length != size * size) {
+            throw new IllegalArgumentException("Expected " + size * size + " cells but got " + cells.length);
+        }
+        for (int i = 0; i < cells.length; i++) {
+            if (cells[i] < 0 || cells[i] > size) {
+                throw new IllegalArgumentException("Value " + cells[i] + " out of range at row " + i / size + ", column " + i % size);
+            }
+        }
+        this.size = size;
+        this.cells = cells;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    // Value of the cell at row-major index cell
+    public int get(int cell) {
+        return cells[cell];
+    }
+
+    // Copy into the row arrays the engines work on
+    public int[][] toGrid() {
+        int[][] grid = new int[size][size];
+        for (int cell = 0; cell < cells.length; cell++) {
+            grid[cell / size][cell % size] = cells[cell];
+        }
+        return grid;
+    }
+
+    // Reads a JSON array of rows token by token into the flat cell array
+    static final class JsonReader extends JsonDeserializer<Board> {
+
+        // Largest supported board is 25x25
+        private static final int MAX_CELLS = 625;
+
+        @Override
+        public Board deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.currentToken() != JsonToken.START_ARRAY) {
+                throw JsonMappingException.from(parser, "Expected an array of rows");
+            }
+            byte[] cells = new byte[81];
+            int count = 0;
+            int rows = 0;
+            while (parser.nextToken() == JsonToken.START_ARRAY) {
+                int length = 0;
+                while (parser.nextToken() == JsonToken.VALUE_NUMBER_INT) {
+                    int value = parser.getIntValue();
+                    if (value < 0 || value > 25 || count == MAX_CELLS) {
+                        throw JsonMappingException.from(parser, "Value or board size out of range");
+                    }
+                    if (count == cells.length) {
+                        cells = Arrays.copyOf(cells, MAX_CELLS);
+                    }
+                    cells[count++] = (byte) value;
+                    length++;
+                }
+                if (parser.currentToken() != JsonToken.END_ARRAY) {
+                    throw JsonMappingException.from(parser, "Expected a row of numbers");
+                }
+                rows++;
+                if (length * rows != count) {
+                    throw JsonMappingException.from(parser, "Rows have different lengths");
+                }
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY || rows * rows != count) {
+                throw JsonMappingException.from(parser, "Expected a square board");
+            }
+            try {
+                return new Board(rows, count == cells.length ? cells : Arrays.copyOf(cells, count));
+            } catch (IllegalArgumentException e) {
+                throw JsonMappingException.from(parser, e.getMessage(), e);
+            }
+        }
+    }
+}
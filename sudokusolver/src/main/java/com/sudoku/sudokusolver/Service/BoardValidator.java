@@ -0,0 +1,154 @@
+package com.sudoku.sudokusolver.Service;
+
+import java.util.List;
+
+// Pre-solve checks shared by every engine. One pass over the board keeps the digits used in each
+// row, column and box as bitmasks (bit d-1 for digit d), so a bad board is rejected in a few
+// microseconds instead of reaching the search: a wrong shape, a value out of range or a repeated
+// digit makes the board INVALID, and an empty cell with no candidate left makes it UNSOLVABLE.
+public final class BoardValidator {
+
+    private BoardValidator() {
+    }
+
+    // Why a board cannot be searched, with the cell or unit at fault in the message (rows and columns count from 1)
+    public static final class Violation {
+        private final SolveStatus status;
+        private final String message;
+
+        private Violation(SolveStatus status, String message) {
+            this.status = status;
+            this.message = message;
+        }
+
+        // Getters
+        public SolveStatus getStatus() {
+            return status;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    // First problem found on the board, or null when the search can start
+    public static Violation check(int[][] board) {
+        if (board == null || !SudokuFormat.isSupportedSize(board.length)) {
+            return invalid("Expected a 4x4, 9x9, 16x16 or 25x25 board");
+        }
+        int size = board.length;
+        int box = (int) Math.sqrt(size);
+        int[] rows = new int[size];
+        int[] cols = new int[size];
+        int[] boxes = new int[size];
+        for (int r = 0; r < size; r++) {
+            int[] row = board[r];
+            if (row == null || row.length != size) {
+                return invalid("Expected " + size + " values in row " + (r + 1));
+            }
+            for (int c = 0; c < size; c++) {
+                int value = row[c];
+                if (value == 0) {
+                    continue;
+                }
+                if (value < 0 || value > size) {
+                    return invalid("Value " + value + " at row " + (r + 1) + ", column " + (c + 1) + " is outside 0-" + size);
+                }
+                int bit = 1 << (value - 1);
+                int b = (r / box) * box + c / box;
+                if ((rows[r] & bit) != 0) {
+                    return invalid("Duplicate " + value + " in row " + (r + 1));
+                }
+                if ((cols[c] & bit) != 0) {
+                    return invalid("Duplicate " + value + " in column " + (c + 1));
+                }
+                if ((boxes[b] & bit) != 0) {
+                    return invalid("Duplicate " + value + " in box " + (b + 1));
+                }
+                rows[r] |= bit;
+                cols[c] |= bit;
+                boxes[b] |= bit;
+            }
+        }
+
+        // The givens agree, but an empty cell whose row, column and box already use every digit ends the search at once
+        int all = (1 << size) - 1;
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                if (board[r][c] == 0 && (rows[r] | cols[c] | boxes[(r / box) * box + c / box]) == all) {
+                    return new Violation(SolveStatus.UNSOLVABLE,
+                            "No candidates left for row " + (r + 1) + ", column " + (c + 1));
+                }
+            }
+        }
+        return null;
+    }
+
+    // Same checks for a board of a variant, with one bitmask per unit of every family of the variant
+    // taking the part of the rows, columns and boxes
+    public static Violation check(int[][] board, ConstraintSet constraints) {
+        if (constraints.isClassic()) {
+            return check(board);
+        }
+        int size = constraints.getSize();
+        if (board == null || board.length != size) {
+            return invalid("Expected a " + size + "x" + size + " board");
+        }
+        List<Constraint> families = constraints.getConstraints();
+        int[][] used = new int[families.size()][];
+        for (int f = 0; f < used.length; f++) {
+            used[f] = new int[families.get(f).unitCount(size)];
+        }
+        for (int r = 0; r < size; r++) {
+            if (board[r] == null || board[r].length != size) {
+                return invalid("Expected " + size + " values in row " + (r + 1));
+            }
+            for (int c = 0; c < size; c++) {
+                int value = board[r][c];
+                if (value == 0) {
+                    continue;
+                }
+                if (value < 0 || value > size) {
+                    return invalid("Value " + value + " at row " + (r + 1) + ", column " + (c + 1) + " is outside 0-" + size);
+                }
+                int bit = 1 << (value - 1);
+                for (int f = 0; f < used.length; f++) {
+                    int unit = constraints.unit(f, r * size + c);
+                    if (unit < 0) {
+                        continue;
+                    }
+                    if ((used[f][unit] & bit) != 0) {
+                        return invalid("Duplicate " + value + " in " + families.get(f).unitName(size, unit));
+                    }
+                    used[f][unit] |= bit;
+                }
+            }
+        }
+
+        // An empty cell whose units together already use every digit
+        int all = (1 << size) - 1;
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                if (board[r][c] != 0) {
+                    continue;
+                }
+                int taken = 0;
+                for (int f = 0; f < used.length; f++) {
+                    int unit = constraints.unit(f, r * size + c);
+                    if (unit >= 0) {
+                        taken |= used[f][unit];
+                    }
+                }
+                if (taken == all) {
+                    return new Violation(SolveStatus.UNSOLVABLE,
+                            "No candidates left for row " + (r + 1) + ", column " + (c + 1));
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Violation invalid(String message) {
+        return new Violation(SolveStatus.INVALID, message);
+    }
+}
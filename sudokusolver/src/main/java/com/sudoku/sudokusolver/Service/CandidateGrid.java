@@ -0,0 +1,268 @@
+package com.sudoku.sudokusolver.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Board being played, with the digits used by every row, column and box kept as bitmasks
+// (bit d-1 for digit d). The candidates of a cell are read off its three units in O(1), so a
+// move only touches the three masks it changes and never re-solves the board.
+public class CandidateGrid {
+
+    private final int size;
+    private final int box;
+    private final int all;
+    private final int[] cells;
+    private final int[] rows;
+    private final int[] cols;
+    private final int[] boxes;
+    private int empty;
+
+    // Start from a board that passes the pre-solve checks; a cell without candidates is allowed,
+    // it is reported by deadCell() and hints
+    public CandidateGrid(int[][] board) {
+        BoardValidator.Violation violation = BoardValidator.check(board);
+        if (violation != null && violation.getStatus() == SolveStatus.INVALID) {
+            throw new IllegalArgumentException(violation.getMessage());
+        }
+        this.size = board.length;
+        this.box = (int) Math.sqrt(size);
+        this.all = (1 << size) - 1;
+        this.cells = new int[size * size];
+        this.rows = new int[size];
+        this.cols = new int[size];
+        this.boxes = new int[size];
+        this.empty = cells.length;
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                if (board[r][c] != 0) {
+                    place(r, c, board[r][c]);
+                }
+            }
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getEmptyCount() {
+        return empty;
+    }
+
+    public int get(int row, int col) {
+        return cells[row * size + col];
+    }
+
+    // Candidate digits of a cell as a bitmask, 0 for a filled cell
+    public int candidates(int row, int col) {
+        if (cells[row * size + col] != 0) {
+            return 0;
+        }
+        return ~(rows[row] | cols[col] | boxes[boxOf(row, col)]) & all;
+    }
+
+    // Fill a cell, or clear it with value 0. A digit already used by one of the cell's units is
+    // rejected, so the masks always describe a consistent board.
+    public void set(int row, int col, int value) {
+        if (row < 0 || row >= size || col < 0 || col >= size) {
+            throw new IllegalArgumentException("Cell (" + (row + 1) + ", " + (col + 1) + ") is outside the board");
+        }
+        if (value < 0 || value > size) {
+            throw new IllegalArgumentException("Value " + value + " is outside 0-" + size);
+        }
+        int current = cells[row * size + col];
+        if (current == value) {
+            return;
+        }
+        if (current != 0) {
+            remove(row, col, current);
+        }
+        if (value == 0) {
+            return;
+        }
+        int bit = 1 << (value - 1);
+        String clash = (rows[row] & bit) != 0 ? "row " + (row + 1)
+                : (cols[col] & bit) != 0 ? "column " + (col + 1)
+                : (boxes[boxOf(row, col)] & bit) != 0 ? "box " + (boxOf(row, col) + 1) : null;
+        if (clash != null) {
+            if (current != 0) {
+                place(row, col, current); // leave the board as it was
+            }
+            throw new IllegalArgumentException(value + " is already in " + clash);
+        }
+        place(row, col, value);
+    }
+
+    // Candidates of the moved cell and of every empty cell sharing a unit with it, the only ones a move can change
+    public List<CellCandidates> affectedBy(int row, int col) {
+        List<CellCandidates> affected = new ArrayList<>(3 * size);
+        int top = row - row % box;
+        int left = col - col % box;
+        affected.add(cellCandidates(row, col));
+        for (int i = 0; i < size; i++) {
+            if (i != col) {
+                addIfEmpty(affected, row, i);
+            }
+            if (i != row) {
+                addIfEmpty(affected, i, col);
+            }
+            int r = top + i / box;
+            int c = left + i % box;
+            if (r != row && c != col) {
+                addIfEmpty(affected, r, c);
+            }
+        }
+        return affected;
+    }
+
+    // Candidate digits of every cell, an empty list for filled cells
+    public int[][][] candidateLists() {
+        int[][][] lists = new int[size][size][];
+        for (int r = 0; r < size; r++) {
+            for (int c = 0; c < size; c++) {
+                lists[r][c] = digits(candidates(r, c));
+            }
+        }
+        return lists;
+    }
+
+    // First empty cell with no candidate left, as row * size + col, or -1
+    public int deadCell() {
+        for (int cell = 0; cell < cells.length; cell++) {
+            if (cells[cell] == 0 && candidates(cell / size, cell % size) == 0) {
+                return cell;
+            }
+        }
+        return -1;
+    }
+
+    // Empty cell with the fewest candidates, as row * size + col, or -1 on a full board
+    public int mostConstrainedCell() {
+        int best = -1;
+        int bestCount = size + 1;
+        for (int cell = 0; cell < cells.length && bestCount > 1; cell++) {
+            if (cells[cell] == 0) {
+                int count = Integer.bitCount(candidates(cell / size, cell % size));
+                if (count < bestCount) {
+                    best = cell;
+                    bestCount = count;
+                }
+            }
+        }
+        return best;
+    }
+
+    // Next placement forced by propagation: a naked single (a cell with one candidate), else a
+    // hidden single (a digit with one place left in a row, column or box); null when neither applies
+    public Hint nextSingle() {
+        for (int cell = 0; cell < cells.length; cell++) {
+            int row = cell / size;
+            int col = cell % size;
+            int mask = candidates(row, col);
+            if (mask != 0 && (mask & (mask - 1)) == 0) {
+                int value = Integer.numberOfTrailingZeros(mask) + 1;
+                return Hint.placement(row, col, value, "naked single",
+                        "Only " + value + " fits row " + (row + 1) + ", column " + (col + 1));
+            }
+        }
+        // Units 0..size-1 are rows, then columns, then boxes
+        for (int unit = 0; unit < 3 * size; unit++) {
+            int once = 0;
+            int more = 0;
+            for (int i = 0; i < size; i++) {
+                int mask = candidates(unitRow(unit, i), unitCol(unit, i));
+                more |= once & mask;
+                once |= mask;
+            }
+            int hidden = once & ~more;
+            if (hidden != 0) {
+                int bit = hidden & -hidden;
+                for (int i = 0; i < size; i++) {
+                    int row = unitRow(unit, i);
+                    int col = unitCol(unit, i);
+                    if ((candidates(row, col) & bit) != 0) {
+                        int value = Integer.numberOfTrailingZeros(bit) + 1;
+                        return Hint.placement(row, col, value, "hidden single",
+                                value + " fits nowhere else in " + unitName(unit));
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    public int[][] toGrid() {
+        int[][] grid = new int[size][size];
+        for (int cell = 0; cell < cells.length; cell++) {
+            grid[cell / size][cell % size] = cells[cell];
+        }
+        return grid;
+    }
+
+    private void place(int row, int col, int value) {
+        int bit = 1 << (value - 1);
+        cells[row * size + col] = value;
+        rows[row] |= bit;
+        cols[col] |= bit;
+        boxes[boxOf(row, col)] |= bit;
+        empty--;
+    }
+
+    private void remove(int row, int col, int value) {
+        int bit = ~(1 << (value - 1));
+        cells[row * size + col] = 0;
+        rows[row] &= bit;
+        cols[col] &= bit;
+        boxes[boxOf(row, col)] &= bit;
+        empty++;
+    }
+
+    private int boxOf(int row, int col) {
+        return (row / box) * box + col / box;
+    }
+
+    private int unitRow(int unit, int i) {
+        if (unit < size) {
+            return unit;
+        }
+        if (unit < 2 * size) {
+            return i;
+        }
+        return ((unit - 2 * size) / box) * box + i / box;
+    }
+
+    private int unitCol(int unit, int i) {
+        if (unit < size) {
+            return i;
+        }
+        if (unit < 2 * size) {
+            return unit - size;
+        }
+        return ((unit - 2 * size) % box) * box + i % box;
+    }
+
+    private String unitName(int unit) {
+        if (unit < size) {
+            return "row " + (unit + 1);
+        }
+        return unit < 2 * size ? "column " + (unit - size + 1) : "box " + (unit - 2 * size + 1);
+    }
+
+    private void addIfEmpty(List<CellCandidates> affected, int row, int col) {
+        if (cells[row * size + col] == 0) {
+            affected.add(cellCandidates(row, col));
+        }
+    }
+
+    private CellCandidates cellCandidates(int row, int col) {
+        return new CellCandidates(row, col, digits(candidates(row, col)));
+    }
+
+    private static int[] digits(int mask) {
+        int[] digits = new int[Integer.bitCount(mask)];
+        for (int i = 0; mask != 0; mask &= mask - 1) {
+            digits[i++] = Integer.numberOfTrailingZeros(mask) + 1;
+        }
+        return digits;
+    }
+}
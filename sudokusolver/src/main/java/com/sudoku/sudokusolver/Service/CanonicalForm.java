@@ -0,0 +1,143 @@
+package com.sudoku.sudokusolver.Service;
+
+import java.util.Arrays;
+
+// Cheap normal form of a 9x9 puzzle under the Sudoku symmetries that keep solutions valid:
+// transposition, band and stack permutations, row permutations inside a band, column
+// permutations inside a stack, and digit relabeling.
+//
+// Bands, rows, stacks and columns are sorted by clue counts (ties keep their original order),
+// digits are relabeled in order of first appearance, and the smaller of the plain and the
+// transposed result is kept. This is not a full minimum-lexicographic canonicalization, so
+// some equivalent puzzles still get different forms, but it costs a few microseconds and
+// equal forms always mean the puzzles are equivalent through the recorded transform.
+public final class CanonicalForm {
+
+    private static final int SIZE = 9;
+    private static final int BOX = 3;
+
+    private final boolean transposed;
+    // Canonical row r (column c) comes from row rowOrder[r] (column colOrder[c]) of the possibly transposed board
+    private final int[] rowOrder;
+    private final int[] colOrder;
+    // Source digit d becomes toCanonical[d]; fromCanonical is the inverse
+    private final int[] toCanonical;
+    private final int[] fromCanonical;
+    private final byte[] packed;
+
+    private CanonicalForm(boolean transposed, int[] rowOrder, int[] colOrder, int[] toCanonical, byte[] packed) {
+        this.transposed = transposed;
+        this.rowOrder = rowOrder;
+        this.colOrder = colOrder;
+        this.toCanonical = toCanonical;
+        this.fromCanonical = new int[SIZE + 1];
+        for (int d = 0; d <= SIZE; d++) {
+            fromCanonical[toCanonical[d]] = d;
+        }
+        this.packed = packed;
+    }
+
+    // Form of the board itself, without looking for symmetries
+    public static CanonicalForm identity(int[][] board) {
+        int[] order = { 0, 1, 2, 3, 4, 5, 6, 7, 8 };
+        int[] digits = { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 };
+        return new CanonicalForm(false, order, order, digits, SudokuFormat.pack(board));
+    }
+
+    public static CanonicalForm of(int[][] board) {
+        CanonicalForm plain = normalize(board, false);
+        CanonicalForm flipped = normalize(board, true);
+        return Arrays.compareUnsigned(plain.packed, flipped.packed) <= 0 ? plain : flipped;
+    }
+
+    private static CanonicalForm normalize(int[][] board, boolean transposed) {
+        int[] rowCount = new int[SIZE];
+        int[] colCount = new int[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            for (int j = 0; j < SIZE; j++) {
+                if (cell(board, transposed, i, j) != 0) {
+                    rowCount[i]++;
+                    colCount[j]++;
+                }
+            }
+        }
+        int[] rowOrder = order(rowCount);
+        int[] colOrder = order(colCount);
+
+        // Relabel digits by first appearance in the permuted board, unseen digits keep their relative order
+        int[] toCanonical = new int[SIZE + 1];
+        int next = 1;
+        int[][] canonical = new int[SIZE][SIZE];
+        for (int r = 0; r < SIZE; r++) {
+            for (int c = 0; c < SIZE; c++) {
+                int value = cell(board, transposed, rowOrder[r], colOrder[c]);
+                if (value != 0 && toCanonical[value] == 0) {
+                    toCanonical[value] = next++;
+                }
+                canonical[r][c] = toCanonical[value];
+            }
+        }
+        for (int d = 1; d <= SIZE; d++) {
+            if (toCanonical[d] == 0) {
+                toCanonical[d] = next++;
+            }
+        }
+        return new CanonicalForm(transposed, rowOrder, colOrder, toCanonical, SudokuFormat.pack(canonical));
+    }
+
+    // Order bands by clue count, then lines inside each band, both descending and stable
+    private static int[] order(int[] lineCount) {
+        Integer[] bands = { 0, 1, 2 };
+        int[] bandCount = new int[BOX];
+        for (int line = 0; line < SIZE; line++) {
+            bandCount[line / BOX] += lineCount[line];
+        }
+        Arrays.sort(bands, (a, b) -> Integer.compare(bandCount[b], bandCount[a]));
+        int[] order = new int[SIZE];
+        int k = 0;
+        for (int band : bands) {
+            Integer[] lines = { band * BOX, band * BOX + 1, band * BOX + 2 };
+            Arrays.sort(lines, (a, b) -> Integer.compare(lineCount[b], lineCount[a]));
+            for (int line : lines) {
+                order[k++] = line;
+            }
+        }
+        return order;
+    }
+
+    private static int cell(int[][] board, boolean transposed, int i, int j) {
+        return transposed ? board[j][i] : board[i][j];
+    }
+
+    // Packed canonical puzzle, usable as a cache key
+    public byte[] packed() {
+        return packed;
+    }
+
+    // Pack a solution of the original board in canonical coordinates and digits
+    public byte[] toCanonical(int[][] solution) {
+        int[][] canonical = new int[SIZE][SIZE];
+        for (int r = 0; r < SIZE; r++) {
+            for (int c = 0; c < SIZE; c++) {
+                canonical[r][c] = toCanonical[cell(solution, transposed, rowOrder[r], colOrder[c])];
+            }
+        }
+        return SudokuFormat.pack(canonical);
+    }
+
+    // Write a canonical packed solution back into the original board's coordinates and digits
+    public void fromCanonical(byte[] canonicalSolution, int[][] board) {
+        int[][] canonical = new int[SIZE][SIZE];
+        SudokuFormat.unpack(canonicalSolution, canonical);
+        for (int r = 0; r < SIZE; r++) {
+            for (int c = 0; c < SIZE; c++) {
+                int value = fromCanonical[canonical[r][c]];
+                if (transposed) {
+                    board[colOrder[c]][rowOrder[r]] = value;
+                } else {
+                    board[rowOrder[r]][colOrder[c]] = value;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.sudoku.sudokusolver.Service;
+
+public class CellCandidates {
+    private int row;
+    private int col;
+    private int[] candidates;
+
+    public CellCandidates(int row, int col, int[] candidates) {
+        this.row = row;
+        this.col = col;
+        this.candidates = candidates;
+    }
+
+    // Getters and Setters
+    public int getRow() {
+        return row;
+    }
+
+    public void setRow(int row) {
+        this.row = row;
+    }
+
+    public int getCol() {
+        return col;
+    }
+
+    public void setCol(int col) {
+        this.col = col;
+    }
+
+    public int[] getCandidates() {
+        return candidates;
+    }
+
+    public void setCandidates(int[] candidates) {
+        this.candidates = candidates;
+    }
+}
@@ -0,0 +1,16 @@
+package com.sudoku.sudokusolver.Service;
+
+// One family of units of a Sudoku variant, e.g. the rows or the jigsaw regions, in which every
+// digit appears exactly once. In the exact-cover matrix each unit of the family has one column per
+// digit, next to the one column per cell that every variant shares.
+public interface Constraint {
+
+    // Number of units of the family on a size x size board
+    int unitCount(int size);
+
+    // Unit of the family holding the cell, or -1 when the cell is in none of them
+    int unit(int size, int row, int col);
+
+    // Name of a unit for messages, e.g. "row 3" (counting from 1)
+    String unitName(int size, int unit);
+}
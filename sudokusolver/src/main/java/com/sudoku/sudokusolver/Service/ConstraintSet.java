@@ -0,0 +1,92 @@
+package com.sudoku.sudokusolver.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// The unit families of a Sudoku variant, from which DLX builds its exact-cover matrix.
+// Every variant has the rows and columns, then the classic boxes or jigsaw regions, and optionally
+// both diagonals (X-Sudoku). Equal sets describe the same variant, so they share one matrix and
+// one solver pool.
+public final class ConstraintSet {
+
+    private final int size;
+    private final List<Constraint> constraints;
+    // Unit of every cell (row * size + col) in each family, -1 outside the family
+    private final int[][] units;
+
+    private ConstraintSet(int size, List<Constraint> constraints) {
+        this.size = size;
+        this.constraints = List.copyOf(constraints);
+        this.units = new int[constraints.size()][size * size];
+        for (int f = 0; f < units.length; f++) {
+            for (int cell = 0; cell < size * size; cell++) {
+                units[f][cell] = constraints.get(f).unit(size, cell / size, cell % size);
+            }
+        }
+    }
+
+    // Plain Sudoku of size x size
+    public static ConstraintSet classic(int size) {
+        return of(size, null, false);
+    }
+
+    // Variant of size x size with the given jigsaw regions (null keeps the boxes) and, when
+    // diagonals is set, the two diagonals as extra units
+    public static ConstraintSet of(int size, int[][] regions, boolean diagonals) {
+        if (!SudokuFormat.isSupportedSize(size)) {
+            throw new IllegalArgumentException("Unsupported board size " + size);
+        }
+        List<Constraint> constraints = new ArrayList<>(List.of(StandardConstraint.ROW, StandardConstraint.COLUMN));
+        if (regions == null) {
+            constraints.add(StandardConstraint.BOX);
+        } else {
+            RegionConstraint jigsaw = new RegionConstraint(regions);
+            if (jigsaw.getSize() != size) {
+                throw new IllegalArgumentException("Expected " + size + "x" + size + " regions for a " + size + "x" + size + " board");
+            }
+            constraints.add(jigsaw);
+        }
+        if (diagonals) {
+            constraints.add(StandardConstraint.DIAGONAL);
+            constraints.add(StandardConstraint.ANTI_DIAGONAL);
+        }
+        return new ConstraintSet(size, constraints);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public List<Constraint> getConstraints() {
+        return constraints;
+    }
+
+    // Unit of the cell in family f, or -1
+    public int unit(int f, int cell) {
+        return units[f][cell];
+    }
+
+    // Just the rows, columns and boxes of plain Sudoku, which the classic engines and the validator handle
+    public boolean isClassic() {
+        return constraints.size() == 3 && constraints.get(2) == StandardConstraint.BOX;
+    }
+
+    // Total number of exact-cover columns: one per cell, and one per unit and digit
+    public int columnCount() {
+        int units = 0;
+        for (Constraint constraint : constraints) {
+            units += constraint.unitCount(size);
+        }
+        return size * size + units * size;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ConstraintSet set && size == set.size && constraints.equals(set.constraints);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * size + constraints.hashCode();
+    }
+}
@@ -0,0 +1,85 @@
+package com.sudoku.sudokusolver.Service;
+
+public class CountResult {
+    // Solutions found, never more than limit
+    private int count;
+    private int limit;
+    // True when the whole search tree was explored, so count is exact and not a lower bound
+    private boolean complete;
+    private long nodes;
+    private long backtracks;
+    private String duration;
+    // True when the timeout expired first, count is then only a lower bound
+    private boolean timedOut;
+
+    public CountResult(int count, int limit, long nodes, long backtracks, String duration) {
+        this.count = count;
+        this.limit = limit;
+        this.complete = count < limit;
+        this.nodes = nodes;
+        this.backtracks = backtracks;
+        this.duration = duration;
+    }
+
+    // Exactly one solution, which needs a limit of at least 2 to be known
+    public boolean isUnique() {
+        return complete && count == 1;
+    }
+
+    // Getters and Setters
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public void setComplete(boolean complete) {
+        this.complete = complete;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public void setNodes(long nodes) {
+        this.nodes = nodes;
+    }
+
+    public long getBacktracks() {
+        return backtracks;
+    }
+
+    public void setBacktracks(long backtracks) {
+        this.backtracks = backtracks;
+    }
+
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    public void setTimedOut(boolean timedOut) {
+        this.timedOut = timedOut;
+    }
+
+    public String getDuration() {
+        return duration;
+    }
+
+    public void setDuration(String duration) {
+        this.duration = duration;
+    }
+}
@@ -1,106 +1,301 @@
 package com.sudoku.sudokusolver.Service;
 
-public class DLX {
-
-    // Constants for Sudoku size
-    private static final int SIZE = 9;
-    private static final int SIZE_SQUARED = SIZE * SIZE;
-    private static final int SIZE_SQRT = (int) Math.sqrt(SIZE);
-
-    // DLX Data structures
-    private static final int ROW_NB = SIZE * SIZE * SIZE;
-    private static final int COL_NB = 4 * SIZE * SIZE;
-    private Node head;
-    private Node[] solution;
-    private Node[] origValues;
-    private boolean[][] matrix;
-    private int solutionCount;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class DLX implements SudokuSolver {
+
+    // Node 0 is the head, nodes 1..colNb are column headers, then the row nodes
+    private static final int HEAD = 0;
+
+    // Classic toroidal lists are built once per board size and shared by every instance of that size;
+    // variant lists are shared through the solver pool of their variant
+    private static final Map<Integer, Matrix> MATRICES = new ConcurrentHashMap<>();
+
+    // Exact-cover structure of an empty board, never modified after construction
+    static final class Matrix {
+        final ConstraintSet constraints;
+        final int size;
+        final int sizeSquared;
+        final int rowNb;
+        final int colNb;
+        final int nodeNb;
+
+        // Links of the freshly built toroidal list
+        final int[] left;
+        final int[] right;
+        final int[] up;
+        final int[] down;
+        final int[] columnSize;
+        // Column header of each node and candidate row of each node (-1 for headers)
+        final int[] column;
+        final int[] row;
+        // First node (the cell constraint node) of every candidate row, indexed by candidateRow
+        final int[] rowStart;
+        // Header index before the first column of each unit family; the cell columns come first
+        private final int[] offsets;
+
+        Matrix(ConstraintSet constraints) {
+            this.constraints = constraints;
+            this.size = constraints.getSize();
+            this.sizeSquared = size * size;
+            this.rowNb = size * size * size;
+            this.colNb = constraints.columnCount();
+            List<Constraint> families = constraints.getConstraints();
+            this.offsets = new int[families.size()];
+            offsets[0] = sizeSquared;
+            for (int f = 1; f < offsets.length; f++) {
+                offsets[f] = offsets[f - 1] + families.get(f - 1).unitCount(size) * size;
+            }
+            // A candidate row has its cell node and one node per unit of its cell: 4 on plain boards,
+            // up to 6 on X-Sudoku
+            int rowNodes = 0;
+            for (int cell = 0; cell < sizeSquared; cell++) {
+                rowNodes += size;
+                for (int f = 0; f < offsets.length; f++) {
+                    if (constraints.unit(f, cell) >= 0) {
+                        rowNodes += size;
+                    }
+                }
+            }
+            this.nodeNb = 1 + colNb + rowNodes;
+            this.left = new int[nodeNb];
+            this.right = new int[nodeNb];
+            this.up = new int[nodeNb];
+            this.down = new int[nodeNb];
+            this.columnSize = new int[colNb + 1];
+            this.column = new int[nodeNb];
+            this.row = new int[nodeNb];
+            this.rowStart = new int[rowNb];
+            buildSparseMatrix();
+        }
+
+        // Candidate row for placing digit (1..size) at (row, col)
+        int candidateRow(int r, int c, int digit) {
+            return (r * size + c) * size + digit - 1;
+        }
+
+        // Build the DLX sparse matrix directly as a toroidal doubly linked list,
+        // touching only the ones (4 * size^3 on plain boards) and never a dense rows x columns table
+        private void buildSparseMatrix() {
+            left[HEAD] = colNb;
+            right[HEAD] = 1;
+            up[HEAD] = HEAD;
+            down[HEAD] = HEAD;
+            column[HEAD] = HEAD;
+            row[HEAD] = -1;
+
+            // Create all column nodes
+            for (int c = 1; c <= colNb; c++) {
+                left[c] = c - 1;
+                right[c] = c == colNb ? HEAD : c + 1;
+                up[c] = c;
+                down[c] = c;
+                column[c] = c;
+                row[c] = -1;
+            }
 
-    // Constructor initializes necessary structures
+            int node = colNb + 1;
+            int[] columns = new int[1 + offsets.length];
+            for (int r = 0; r < size; r++) {
+                for (int c = 0; c < size; c++) {
+                    for (int digit = 1; digit <= size; digit++) {
+                        // The cell column first, then the digit column of every unit holding the cell
+                        int count = 0;
+                        columns[count++] = 1 + r * size + c;
+                        for (int f = 0; f < offsets.length; f++) {
+                            int unit = constraints.unit(f, r * size + c);
+                            if (unit >= 0) {
+                                columns[count++] = 1 + offsets[f] + unit * size + digit - 1;
+                            }
+                        }
+
+                        int first = node;
+                        rowStart[candidateRow(r, c, digit)] = first;
+                        for (int k = 0; k < count; k++, node++) {
+                            int top = columns[k];
+                            column[node] = top;
+                            row[node] = candidateRow(r, c, digit);
+                            left[node] = k == 0 ? first + count - 1 : node - 1;
+                            right[node] = k == count - 1 ? first : node + 1;
+                            down[node] = top;
+                            up[node] = up[top];
+                            down[up[top]] = node;
+                            up[top] = node;
+                            columnSize[top]++;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    static Matrix matrix(int size) {
+        return MATRICES.computeIfAbsent(size, n -> new Matrix(ConstraintSet.classic(n)));
+    }
+
+    private final Matrix matrix;
+    private final int[] column;
+    private final int[] row;
+
+    // Working copy of the links, reset from the template before every solve
+    private final int[] left;
+    private final int[] right;
+    private final int[] up;
+    private final int[] down;
+    private final int[] size;
+    private final int[] solution;
+    private final int[] origValues;
+    private int solutionDepth;
+    private int origCount;
+    private int solutionCount;
+    // The search stops once this many solutions have been found
+    private int solutionLimit;
+    // Raised by another thread to abandon the search, null when the search runs alone
+    private AtomicBoolean stop;
+    // Solutions found by every thread sharing the search, the limit applies to this total
+    private AtomicInteger sharedCount;
+    private Deadline deadline = Deadline.none();
+    // Search statistics of the last solve
+    private long nodeCount;
+    private long backtrackCount;
+    private int maxDepth;
+    private long coverCount;
+    private long uncoverCount;
+    // Branching decisions by the size of the chosen column
+    private final long[] branching;
+
+    // Solver for classic 9x9 boards
     public DLX() {
-        head = new Node();
-        head.left = head;
-        head.right = head;
-        head.down = head;
-        head.up = head;
-        head.size = -1;
-        head.head = head;
-        solution = new Node[SIZE_SQUARED];
-        origValues = new Node[SIZE_SQUARED];
-        matrix = new boolean[ROW_NB][COL_NB];
-        solutionCount = 0;
+        this(9);
+    }
+
+    // Solver for boardSize x boardSize boards, where boardSize is a perfect square
+    public DLX(int boardSize) {
+        this(matrix(boardSize));
+    }
+
+    // Solver for the variant the matrix was built for; instances of one variant share its matrix
+    DLX(Matrix matrix) {
+        this.matrix = matrix;
+        column = matrix.column;
+        row = matrix.row;
+        left = new int[matrix.nodeNb];
+        right = new int[matrix.nodeNb];
+        up = new int[matrix.nodeNb];
+        down = new int[matrix.nodeNb];
+        size = new int[matrix.colNb + 1];
+        solution = new int[matrix.sizeSquared];
+        origValues = new int[matrix.sizeSquared];
+        branching = new long[matrix.size + 1];
+    }
+
+    public int getBoardSize() {
+        return matrix.size;
     }
 
-    // Node structure for DLX algorithm
-    static class Node {
-        Node left, right, up, down, head;
-        int size;
-        int[] rowID = new int[3];
+    // Restore the untouched toroidal list, without allocating
+    private void reset() {
+        System.arraycopy(matrix.left, 0, left, 0, matrix.nodeNb);
+        System.arraycopy(matrix.right, 0, right, 0, matrix.nodeNb);
+        System.arraycopy(matrix.up, 0, up, 0, matrix.nodeNb);
+        System.arraycopy(matrix.down, 0, down, 0, matrix.nodeNb);
+        System.arraycopy(matrix.columnSize, 0, size, 0, matrix.colNb + 1);
+        solutionDepth = 0;
+        origCount = 0;
+        solutionCount = 0;
+        nodeCount = 0;
+        backtrackCount = 0;
+        maxDepth = 0;
+        coverCount = 0;
+        uncoverCount = 0;
+        Arrays.fill(branching, 0);
     }
 
     // Cover column in DLX matrix
-    private void coverColumn(Node col) {
-        col.left.right = col.right;
-        col.right.left = col.left;
-        for (Node node = col.down; node != col; node = node.down) {
-            for (Node temp = node.right; temp != node; temp = temp.right) {
-                temp.down.up = temp.up;
-                temp.up.down = temp.down;
-                temp.head.size--;
+    private void coverColumn(int col) {
+        coverCount++;
+        left[right[col]] = left[col];
+        right[left[col]] = right[col];
+        for (int node = down[col]; node != col; node = down[node]) {
+            for (int temp = right[node]; temp != node; temp = right[temp]) {
+                up[down[temp]] = up[temp];
+                down[up[temp]] = down[temp];
+                size[column[temp]]--;
             }
         }
     }
 
     // Uncover column in DLX matrix
-    private void uncoverColumn(Node col) {
-        for (Node node = col.up; node != col; node = node.up) {
-            for (Node temp = node.left; temp != node; temp = temp.left) {
-                temp.head.size++;
-                temp.down.up = temp;
-                temp.up.down = temp;
+    private void uncoverColumn(int col) {
+        uncoverCount++;
+        for (int node = up[col]; node != col; node = up[node]) {
+            for (int temp = left[node]; temp != node; temp = left[temp]) {
+                size[column[temp]]++;
+                up[down[temp]] = temp;
+                down[up[temp]] = temp;
             }
         }
-        col.left.right = col;
-        col.right.left = col;
+        left[right[col]] = col;
+        right[left[col]] = col;
     }
 
     // DLX algorithm search function
-    private boolean search(int k,int[][] sudoku) {
-        if (head.right == head) {
+    private boolean search(int k, int[][] sudoku) {
+        nodeCount++;
+        // The deadline and the shared flag cost a volatile read, so they are only polled every 256 nodes
+        if ((nodeCount & 0xFF) == 0) {
+            if (deadline.isExpired()) {
+                throw new SolveTimeoutException(nodeCount);
+            }
+            if (stop != null && stop.get()) {
+                return true;
+            }
+        }
+        if (k > maxDepth) {
+            maxDepth = k;
+        }
+        if (right[HEAD] == HEAD) {
             solutionCount++;
-            if (solutionCount == 1) {
-                int[][] grid = new int[SIZE][SIZE];
-                mapSolutionToGrid(grid);
-                printGrid(grid,sudoku);
+            if (solutionCount == 1 && sudoku != null) {
+                solutionDepth = k;
+                mapSolutionToGrid(sudoku);
+            }
+            if (sharedCount != null && sharedCount.incrementAndGet() >= solutionLimit) {
+                stop.set(true);
+                return true;
             }
-            return true; // Return true to stop at the first solution found
+            return solutionCount >= solutionLimit; // Return true to stop once enough solutions are found
         }
 
         // Choose column object deterministically: choose the column with the smallest size
-        Node col = head.right;
-        for (Node temp = col.right; temp != head; temp = temp.right) {
-            if (temp.size < col.size) {
+        int col = right[HEAD];
+        for (int temp = right[col]; temp != HEAD; temp = right[temp]) {
+            if (size[temp] < size[col]) {
                 col = temp;
             }
         }
+        branching[size[col]]++;
 
         coverColumn(col);
 
-        for (Node temp = col.down; temp != col; temp = temp.down) {
+        for (int temp = down[col]; temp != col; temp = down[temp]) {
             solution[k] = temp;
-            for (Node node = temp.right; node != temp; node = node.right) {
-                coverColumn(node.head);
+            for (int node = right[temp]; node != temp; node = right[node]) {
+                coverColumn(column[node]);
             }
 
-            if (search(k + 1,sudoku)) {
+            if (search(k + 1, sudoku)) {
                 return true; // Return true if a solution is found
             }
 
-            temp = solution[k];
-            solution[k] = null;
-            col = temp.head;
-            for (Node node = temp.left; node != temp; node = node.left) {
-                uncoverColumn(node.head);
+            backtrackCount++;
+            for (int node = left[temp]; node != temp; node = left[node]) {
+                uncoverColumn(column[node]);
             }
         }
 
@@ -108,237 +303,198 @@ public class DLX {
         return false; // Return false if no solution is found
     }
 
-    // Build initial DLX sparse matrix
-    private void buildSparseMatrix(int[][] sudoku) {
-        // Constraint 1: There can only be one value in any given cell
-        int j = 0, counter = 0;
-        for (int i = 0; i < ROW_NB; i++) {
-            matrix[i][j] = true;
-            counter++;
-            if (counter >= SIZE) {
-                j++;
-                counter = 0;
+    // Cover values that are already present in the Sudoku grid, false if two givens clash
+    private boolean transformListToCurrentGrid(int[][] sudoku) {
+        int n = matrix.size;
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                if (sudoku[i][j] > 0) {
+                    int temp = matrix.rowStart[matrix.candidateRow(i, j, sudoku[i][j])];
+                    // A row is only unlinked by covering one of its columns, so a covered column means a clash
+                    int node = temp;
+                    do {
+                        if (isCovered(column[node])) {
+                            return false;
+                        }
+                        node = right[node];
+                    } while (node != temp);
+
+                    coverColumn(column[temp]);
+                    origValues[origCount++] = temp;
+                    for (node = right[temp]; node != temp; node = right[node]) {
+                        coverColumn(column[node]);
+                    }
+                }
             }
         }
+        return true;
+    }
 
-        // Constraint 2: There can only be one instance of a number in any given row
-        int x = 0;
-        counter = 1;
-        for (j = SIZE_SQUARED; j < 2 * SIZE_SQUARED; j++) {
-            for (int i = x; i < counter * SIZE_SQUARED; i += SIZE) {
-                matrix[i][j] = true;
-            }
+    // A covered column header is skipped by its neighbours but keeps its own links
+    private boolean isCovered(int col) {
+        return right[left[col]] != col;
+    }
 
-            if ((j + 1) % SIZE == 0) {
-                x = counter * SIZE_SQUARED;
-                counter++;
-            } else {
-                x++;
-            }
+    // Map solution back to Sudoku grid
+    private void mapSolutionToGrid(int[][] sudoku) {
+        for (int k = 0; k < solutionDepth; k++) {
+            placeRow(sudoku, row[solution[k]]);
         }
-
-        // Constraint 3: There can only be one instance of a number in any given column
-        j = 2 * SIZE_SQUARED;
-        for (int i = 0; i < ROW_NB; i++) {
-            matrix[i][j] = true;
-            j++;
-            if (j >= 3 * SIZE_SQUARED) {
-                j = 2 * SIZE_SQUARED;
-            }
+        for (int k = 0; k < origCount; k++) {
+            placeRow(sudoku, row[origValues[k]]);
         }
+    }
 
-        // Constraint 4: There can only be one instance of a number in any given region
-        x = 0;
-        for (j = 3 * SIZE_SQUARED; j < COL_NB; j++) {
-            for (int l = 0; l < SIZE_SQRT; l++) {
-                for (int k = 0; k < SIZE_SQRT; k++) {
-                    matrix[x + l * SIZE + k * SIZE_SQUARED][j] = true;
-                }
-            }
+    private void placeRow(int[][] sudoku, int candidate) {
+        int n = matrix.size;
+        int cell = candidate / n;
+        sudoku[cell / n][cell % n] = candidate % n + 1;
+    }
 
-            int temp = j + 1 - 3 * SIZE_SQUARED;
-            if (temp % (SIZE_SQRT * SIZE) == 0) {
-                x += (SIZE_SQRT - 1) * SIZE_SQUARED + (SIZE_SQRT - 1) * SIZE + 1;
-            } else if (temp % SIZE == 0) {
-                x += SIZE * (SIZE_SQRT - 1) + 1;
-            } else {
-                x++;
-            }
-        }
+    // Solve Sudoku using DLX algorithm, giving up with a SolveTimeoutException once the deadline expires
+    @Override
+    public boolean solveSudoku(int[][] sudoku, Deadline deadline) {
+        return solve(sudoku, deadline, true);
+    }
+
+    @Override
+    public boolean solveValidated(int[][] sudoku, Deadline deadline) {
+        return solve(sudoku, deadline, false);
     }
 
-    // Build DLX toroidal doubly linked list from sparse matrix
-    private void buildLinkedList(int[][] sudoku) {
-        head = new Node();
-        head.left = head;
-        head.right = head;
-        head.down = head;
-        head.up = head;
-        head.size = -1;
-        head.head = head;
-
-        Node temp = head;
-
-        // Create all column nodes
-        for (int i = 0; i < COL_NB; i++) {
-            Node newNode = new Node();
-            newNode.size = 0;
-            newNode.up = newNode;
-            newNode.down = newNode;
-            newNode.head = newNode;
-            newNode.right = head;
-            newNode.left = temp;
-            temp.right = newNode;
-            temp = newNode;
+    private boolean solve(int[][] sudoku, Deadline deadline, boolean validate) {
+        if (sudoku.length != matrix.size) {
+            throw new IllegalArgumentException("Expected a " + matrix.size + "x" + matrix.size + " board");
         }
+        // Values out of range have no candidate row, so bad boards never reach transformListToCurrentGrid
+        if (validate && BoardValidator.check(sudoku, matrix.constraints) != null) {
+            reset();
+            return false;
+        }
+        return run(sudoku, 1, true, null, null, deadline) == 1;
+    }
 
-        int[] ID = { 0, 1, 1 };
-        // Add a node for each true value in the sparse matrix and update column nodes accordingly
-        for (int i = 0; i < ROW_NB; i++) {
-            Node top = head.right;
-            Node prev = null;
-
-            if (i != 0 && i % SIZE_SQUARED == 0) {
-                ID[0] -= SIZE - 1;
-                ID[1]++;
-                ID[2] -= SIZE - 1;
-            } else if (i != 0 && i % SIZE == 0) {
-                ID[0] -= SIZE - 1;
-                ID[2]++;
-            } else {
-                ID[0]++;
-            }
+    // Count the solutions of the board, stopping at limit; the board itself is left untouched
+    public int countSolutions(int[][] sudoku, int limit) {
+        return countSolutions(sudoku, limit, Deadline.none());
+    }
 
-            for (int j = 0; j < COL_NB; j++, top = top.right) {
-                if (matrix[i][j]) {
-                    Node newNode = new Node();
-                    newNode.rowID[0] = ID[0];
-                    newNode.rowID[1] = ID[1];
-                    newNode.rowID[2] = ID[2];
-                    if (prev == null) {
-                        prev = newNode;
-                        prev.right = newNode;
-                    }
-                    newNode.left = prev;
-                    newNode.right = prev.right;
-                    newNode.right.left = newNode;
-                    prev.right = newNode;
-                    newNode.head = top;
-                    newNode.down = top;
-                    newNode.up = top.up;
-                    top.up.down = newNode;
-                    top.size++;
-                    top.up = newNode;
-                    if (top.down == top) {
-                        top.down = newNode;
-                    }
-                    prev = newNode;
-                }
-            }
-        }
+    // Count the solutions of the board up to limit, giving up with a SolveTimeoutException once the deadline expires
+    public int countSolutions(int[][] sudoku, int limit, Deadline deadline) {
+        return count(sudoku, limit, deadline, true);
     }
 
-    // Cover values that are already present in the Sudoku grid
-    private void transformListToCurrentGrid(int[][] sudoku) {
-        int index = 0;
-        for (int i = 0; i < SIZE; i++) {
-            for (int j = 0; j < SIZE; j++) {
-                if (sudoku[i][j] > 0) {
-                    Node col = null;
-                    Node temp = null;
-                    for (col = head.right; col != head; col = col.right) {
-                        for (temp = col.down; temp != col; temp = temp.down) {
-                            if (temp.rowID[0] == sudoku[i][j] && (temp.rowID[1] - 1) == i && (temp.rowID[2] - 1) == j) {
-                                break;
-                            }
-                        }
-                        if (temp != col) {
-                            break;
-                        }
-                    }
-                    coverColumn(col);
-                    origValues[index] = temp;
-                    index++;
-                    for (Node node = temp.right; node != temp; node = node.right) {
-                        coverColumn(node.head);
-                    }
-                }
-            }
+    // Same as countSolutions for a board that already passed BoardValidator
+    int countValidated(int[][] sudoku, int limit, Deadline deadline) {
+        return count(sudoku, limit, deadline, false);
+    }
+
+    private int count(int[][] sudoku, int limit, Deadline deadline, boolean validate) {
+        if (sudoku.length != matrix.size) {
+            throw new IllegalArgumentException("Expected a " + matrix.size + "x" + matrix.size + " board");
         }
+        if (limit < 1) {
+            throw new IllegalArgumentException("Solution limit must be at least 1");
+        }
+        if (validate && BoardValidator.check(sudoku, matrix.constraints) != null) {
+            reset();
+            return 0;
+        }
+        return run(sudoku, limit, false, null, null, deadline);
     }
 
-    // Map solution back to Sudoku grid
-    private void mapSolutionToGrid(int[][] sudoku) {
-        for (Node node : solution) {
-            if (node != null) {
-                sudoku[node.rowID[1] - 1][node.rowID[2] - 1] = node.rowID[0];
+    // Search one subtree for a parallel solve. Every solution is added to sharedCount, and the
+    // search stops once that total reaches limit or another thread raises stop. The first
+    // solution of this subtree is written into sudoku when write is set.
+    int searchShared(int[][] sudoku, int limit, boolean write, AtomicBoolean stop, AtomicInteger sharedCount,
+                     Deadline deadline) {
+        return run(sudoku, limit, write, stop, sharedCount, deadline);
+    }
+
+    private int run(int[][] sudoku, int limit, boolean write, AtomicBoolean stop, AtomicInteger sharedCount,
+                    Deadline deadline) {
+        reset();
+        this.solutionLimit = limit;
+        this.stop = stop;
+        this.sharedCount = sharedCount;
+        this.deadline = deadline;
+        try {
+            if (transformListToCurrentGrid(sudoku)) {
+                search(0, write ? sudoku : null);
             }
+        } finally {
+            this.stop = null;
+            this.sharedCount = null;
+            this.deadline = Deadline.none();
         }
-        for (Node node : origValues) {
-            if (node != null) {
-                sudoku[node.rowID[1] - 1][node.rowID[2] - 1] = node.rowID[0];
-            }
+        return solutionCount;
+    }
+
+    // Paths of the search tree down to depth levels, each as the candidate rows it places
+    // (cell * size + digit - 1). Paths that end early in a full grid are kept, dead ends are not.
+    // Returns false if the givens clash.
+    boolean splitRows(int[][] sudoku, int depth, List<int[]> paths) {
+        reset();
+        if (!transformListToCurrentGrid(sudoku)) {
+            return false;
         }
+        split(0, depth, paths);
+        return true;
     }
 
-    // Print Sudoku grid
-    private void printGrid(int[][] sudoku,int[][] original) {
-        for(int i = 0 ;i < 9;i++){
-            for(int j = 0;j < 9; j++){
-                original[i][j] = sudoku[i][j];
+    private void split(int k, int depth, List<int[]> paths) {
+        if (k == depth || right[HEAD] == HEAD) {
+            int[] path = new int[k];
+            for (int i = 0; i < k; i++) {
+                path[i] = row[solution[i]];
             }
+            paths.add(path);
+            return;
         }
-        System.out.println("Sudoku solved:");
-        StringBuilder extBorder = new StringBuilder("+");
-        StringBuilder intBorder = new StringBuilder("|");
-        int counter = 1;
-        int additional = SIZE > 9 ? SIZE : 0;
-        for (int i = 0; i < ((SIZE + SIZE_SQRT - 1) * 2 + additional + 1); i++) {
-            extBorder.append('-');
-
-            if (i > 0 && i % ((SIZE_SQRT*2 + SIZE_SQRT*((SIZE > 9 ? 1 : 0)) + 1) * counter + counter - 1) == 0) {
-                intBorder.append('+');
-                counter++;
-            } else {
-                intBorder.append('-');
+
+        int col = right[HEAD];
+        for (int temp = right[col]; temp != HEAD; temp = right[temp]) {
+            if (size[temp] < size[col]) {
+                col = temp;
             }
         }
-        extBorder.append('+');
-        intBorder.append("|");
-
-        System.out.println(extBorder);
-        for (int i = 0; i < SIZE; i++) {
-            System.out.print("| ");
-            for (int j = 0; j < SIZE; j++) {
-                if (sudoku[i][j] == 0) {
-                    System.out.print(". ");
-                } else {
-                    System.out.print(sudoku[i][j] + " ");
-                }
-                if (additional > 0 && sudoku[i][j] < 10) {
-                    System.out.print(" ");
-                }
-                if ((j + 1) % SIZE_SQRT == 0) {
-                    System.out.print("| ");
-                }
+
+        coverColumn(col);
+        for (int temp = down[col]; temp != col; temp = down[temp]) {
+            solution[k] = temp;
+            for (int node = right[temp]; node != temp; node = right[node]) {
+                coverColumn(column[node]);
             }
-            System.out.println();
-            if ((i + 1) % SIZE_SQRT == 0 && (i + 1) < SIZE) {
-                System.out.println(intBorder);
+            split(k + 1, depth, paths);
+            for (int node = left[temp]; node != temp; node = left[node]) {
+                uncoverColumn(column[node]);
             }
         }
-        System.out.println(extBorder + "\n");
+        uncoverColumn(col);
     }
 
-    // Solve Sudoku using DLX algorithm
-    public boolean solveSudoku(int[][] sudoku) {
-        buildSparseMatrix(sudoku);
-        buildLinkedList(sudoku);
-        transformListToCurrentGrid(sudoku);
-        solutionCount = 0;
-        if (!search(0,sudoku)) {
-            return false;
-        }
-        return true;
+    // Solutions found by the last search, so far when it timed out
+    public int getSolutionCount() {
+        return solutionCount;
+    }
+
+    // Number of search calls made by the last solve
+    public long getNodeCount() {
+        return nodeCount;
+    }
+
+    // Number of candidate rows the last solve tried and then undid
+    public long getBacktrackCount() {
+        return backtrackCount;
+    }
+
+    @Override
+    public SearchStats getSearchStats() {
+        SearchStats stats = new SearchStats(nodeCount, backtrackCount);
+        stats.setMaxDepth(maxDepth);
+        stats.setCovers(coverCount);
+        stats.setUncovers(uncoverCount);
+        stats.setBranching(branching.clone());
+        return stats;
     }
 }
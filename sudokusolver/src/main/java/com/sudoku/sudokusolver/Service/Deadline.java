@@ -0,0 +1,40 @@
+package com.sudoku.sudokusolver.Service;
+
+// Time limit for one solve that can also be cancelled from another thread. Engines poll
+// isExpired() every few hundred search nodes and give up with a SolveTimeoutException.
+// Interrupting the solving thread expires it too, so a solve whose future was cancelled stops.
+public final class Deadline {
+
+    private static final Deadline NONE = new Deadline(0, Long.MAX_VALUE);
+
+    private final long start;
+    private final long timeoutNanos;
+    private volatile boolean cancelled;
+
+    private Deadline(long start, long timeoutNanos) {
+        this.start = start;
+        this.timeoutNanos = timeoutNanos;
+    }
+
+    // A deadline that never expires and cannot be cancelled
+    public static Deadline none() {
+        return NONE;
+    }
+
+    public static Deadline after(long timeoutNanos) {
+        return new Deadline(System.nanoTime(), timeoutNanos);
+    }
+
+    public void cancel() {
+        if (this != NONE) {
+            cancelled = true;
+        }
+    }
+
+    public boolean isExpired() {
+        if (this == NONE) {
+            return false;
+        }
+        return cancelled || Thread.currentThread().isInterrupted() || System.nanoTime() - start >= timeoutNanos;
+    }
+}
@@ -0,0 +1,43 @@
+package com.sudoku.sudokusolver.Service;
+
+import java.util.Locale;
+
+// Difficulty bands for generated 9x9 puzzles, rated by how many clues are left.
+// Every band is dug to a unique solution, fewer clues leave fewer forced placements.
+public enum Difficulty {
+    EASY(36, 45),
+    MEDIUM(30, 35),
+    HARD(26, 29),
+    EXPERT(17, 25);
+
+    private final int minClues;
+    private final int maxClues;
+
+    Difficulty(int minClues, int maxClues) {
+        this.minClues = minClues;
+        this.maxClues = maxClues;
+    }
+
+    public int getMinClues() {
+        return minClues;
+    }
+
+    public int getMaxClues() {
+        return maxClues;
+    }
+
+    // Band a puzzle with this many clues falls in, puzzles above every band count as EASY
+    public static Difficulty ofClues(int clues) {
+        for (Difficulty difficulty : values()) {
+            if (clues >= difficulty.minClues) {
+                return difficulty;
+            }
+        }
+        return EXPERT;
+    }
+
+    // Resolve the band named in a request parameter, e.g. "easy" or "expert"
+    public static Difficulty fromName(String name) {
+        return Difficulty.valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
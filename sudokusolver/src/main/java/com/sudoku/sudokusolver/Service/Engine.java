@@ -0,0 +1,19 @@
+package com.sudoku.sudokusolver.Service;
+
+import java.util.Locale;
+
+// Solving engines the service can route a board to
+public enum Engine {
+    DLX,
+    BACKTRACKING,
+    BITMASK,
+    // DLX with the top of the search tree split across the fork-join common pool
+    DLX_PARALLEL,
+    // Human techniques from singles to Swordfish, with DLX for whatever they cannot finish
+    LOGIC;
+
+    // Resolve the engine named in a request path or parameter, e.g. "dlx", "backtracking", "bitmask", "dlx_parallel" or "logic"
+    public static Engine fromName(String name) {
+        return Engine.valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
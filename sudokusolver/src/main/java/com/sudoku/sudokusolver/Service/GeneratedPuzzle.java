@@ -0,0 +1,48 @@
+package com.sudoku.sudokusolver.Service;
+
+public class GeneratedPuzzle {
+    private int[][] board;
+    private int clues;
+    private Difficulty difficulty;
+    private String duration;
+
+    public GeneratedPuzzle(int[][] board, int clues, Difficulty difficulty, String duration) {
+        this.board = board;
+        this.clues = clues;
+        this.difficulty = difficulty;
+        this.duration = duration;
+    }
+
+    // Getters and Setters
+    public int[][] getBoard() {
+        return board;
+    }
+
+    public void setBoard(int[][] board) {
+        this.board = board;
+    }
+
+    public int getClues() {
+        return clues;
+    }
+
+    public void setClues(int clues) {
+        this.clues = clues;
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public void setDifficulty(Difficulty difficulty) {
+        this.difficulty = difficulty;
+    }
+
+    public String getDuration() {
+        return duration;
+    }
+
+    public void setDuration(String duration) {
+        this.duration = duration;
+    }
+}
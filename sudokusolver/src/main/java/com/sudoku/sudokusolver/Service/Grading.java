@@ -0,0 +1,92 @@
+package com.sudoku.sudokusolver.Service;
+
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Difficulty of a puzzle as rated by LogicSolver: the score sums the weight of every step, and
+// hardest names the most advanced technique needed (SEARCH when the techniques ran out)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class Grading {
+    private SolveStatus status;
+    private int[][] board;
+    private Integer score;
+    private Technique hardest;
+    private Map<Technique, Integer> techniques;
+    private List<String> trace;
+    private String message;
+    private String duration;
+
+    public Grading(SolveStatus status, int[][] board, String message, String duration) {
+        this.status = status;
+        this.board = board;
+        this.message = message;
+        this.duration = duration;
+    }
+
+    // Getters and Setters
+    public SolveStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(SolveStatus status) {
+        this.status = status;
+    }
+
+    public int[][] getBoard() {
+        return board;
+    }
+
+    public void setBoard(int[][] board) {
+        this.board = board;
+    }
+
+    public Integer getScore() {
+        return score;
+    }
+
+    public void setScore(Integer score) {
+        this.score = score;
+    }
+
+    public Technique getHardest() {
+        return hardest;
+    }
+
+    public void setHardest(Technique hardest) {
+        this.hardest = hardest;
+    }
+
+    public Map<Technique, Integer> getTechniques() {
+        return techniques;
+    }
+
+    public void setTechniques(Map<Technique, Integer> techniques) {
+        this.techniques = techniques;
+    }
+
+    public List<String> getTrace() {
+        return trace;
+    }
+
+    public void setTrace(List<String> trace) {
+        this.trace = trace;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getDuration() {
+        return duration;
+    }
+
+    public void setDuration(String duration) {
+        this.duration = duration;
+    }
+}
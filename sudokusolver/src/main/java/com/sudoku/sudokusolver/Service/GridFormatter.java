@@ -0,0 +1,57 @@
+package com.sudoku.sudokusolver.Service;
+
+// Renders a grid as boxed text for debugging, e.g.
+// +-------+-------+-------+
+// | 4 8 3 | 9 2 1 | 6 5 7 |
+// ...
+public final class GridFormatter {
+
+    private GridFormatter() {
+    }
+
+    public static String format(int[][] sudoku) {
+        int size = sudoku.length;
+        int sizeSqrt = (int) Math.sqrt(size);
+        StringBuilder extBorder = new StringBuilder("+");
+        StringBuilder intBorder = new StringBuilder("|");
+        int counter = 1;
+        int additional = size > 9 ? size : 0;
+        for (int i = 0; i < ((size + sizeSqrt - 1) * 2 + additional + 1); i++) {
+            extBorder.append('-');
+
+            if (i > 0 && i % ((sizeSqrt * 2 + sizeSqrt * ((size > 9 ? 1 : 0)) + 1) * counter + counter - 1) == 0) {
+                intBorder.append('+');
+                counter++;
+            } else {
+                intBorder.append('-');
+            }
+        }
+        extBorder.append('+');
+        intBorder.append('|');
+
+        StringBuilder out = new StringBuilder();
+        out.append(extBorder).append('\n');
+        for (int i = 0; i < size; i++) {
+            out.append("| ");
+            for (int j = 0; j < size; j++) {
+                if (sudoku[i][j] == 0) {
+                    out.append(". ");
+                } else {
+                    out.append(sudoku[i][j]).append(' ');
+                }
+                if (additional > 0 && sudoku[i][j] < 10) {
+                    out.append(' ');
+                }
+                if ((j + 1) % sizeSqrt == 0) {
+                    out.append("| ");
+                }
+            }
+            out.append('\n');
+            if ((i + 1) % sizeSqrt == 0 && (i + 1) < size) {
+                out.append(intBorder).append('\n');
+            }
+        }
+        out.append(extBorder).append('\n');
+        return out.toString();
+    }
+}
@@ -0,0 +1,72 @@
+package com.sudoku.sudokusolver.Service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Next cell to reveal, with the technique that forces it and a sentence for the player.
+// Row and column are 0-based like the board arrays; they are absent when there is nothing to place.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class Hint {
+    private Integer row;
+    private Integer col;
+    private Integer value;
+    private String technique;
+    private String message;
+
+    public Hint(Integer row, Integer col, Integer value, String technique, String message) {
+        this.row = row;
+        this.col = col;
+        this.value = value;
+        this.technique = technique;
+        this.message = message;
+    }
+
+    public static Hint placement(int row, int col, int value, String technique, String message) {
+        return new Hint(row, col, value, technique, message);
+    }
+
+    // No placement: the board is complete or has no solution
+    public static Hint none(String message) {
+        return new Hint(null, null, null, null, message);
+    }
+
+    // Getters and Setters
+    public Integer getRow() {
+        return row;
+    }
+
+    public void setRow(Integer row) {
+        this.row = row;
+    }
+
+    public Integer getCol() {
+        return col;
+    }
+
+    public void setCol(Integer col) {
+        this.col = col;
+    }
+
+    public Integer getValue() {
+        return value;
+    }
+
+    public void setValue(Integer value) {
+        this.value = value;
+    }
+
+    public String getTechnique() {
+        return technique;
+    }
+
+    public void setTechnique(String technique) {
+        this.technique = technique;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,577 @@
+package com.sudoku.sudokusolver.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Human-style solver: candidates are kept as one bitmask per cell (bit d-1 for digit d) and the
+// techniques of Technique are tried easiest first, one step at a time, until the board is full.
+// Each step adds its technique's weight to the difficulty score and, when asked for, a short line
+// to the trace. When no technique applies the rest of the board is handed to DLX.
+public class LogicSolver implements SudokuSolver {
+
+    // Unit and peer tables are built once per board size
+    private static final Map<Integer, Layout> LAYOUTS = new ConcurrentHashMap<>();
+
+    // Units 0..size-1 are rows, then columns, then boxes
+    private static final class Layout {
+        final int size;
+        final int box;
+        final int cells;
+        final int all;
+        final int[][] units;
+        // Row, column and box unit of each cell
+        final int[][] unitsOf;
+        final int[][] peers;
+
+        Layout(int size) {
+            this.size = size;
+            this.box = (int) Math.sqrt(size);
+            this.cells = size * size;
+            this.all = (1 << size) - 1;
+            this.units = new int[3 * size][size];
+            this.unitsOf = new int[cells][3];
+            int[] filled = new int[3 * size];
+            for (int cell = 0; cell < cells; cell++) {
+                int row = cell / size;
+                int col = cell % size;
+                unitsOf[cell][0] = row;
+                unitsOf[cell][1] = size + col;
+                unitsOf[cell][2] = 2 * size + (row / box) * box + col / box;
+                for (int unit : unitsOf[cell]) {
+                    units[unit][filled[unit]++] = cell;
+                }
+            }
+            this.peers = new int[cells][];
+            for (int cell = 0; cell < cells; cell++) {
+                boolean[] seen = new boolean[cells];
+                seen[cell] = true;
+                int[] list = new int[3 * size];
+                int count = 0;
+                for (int unit : unitsOf[cell]) {
+                    for (int other : units[unit]) {
+                        if (!seen[other]) {
+                            seen[other] = true;
+                            list[count++] = other;
+                        }
+                    }
+                }
+                peers[cell] = Arrays.copyOf(list, count);
+            }
+        }
+    }
+
+    // What the subset search is looking for
+    private static final int NAKED = 0;
+    private static final int HIDDEN = 1;
+    private static final int FISH_ROWS = 2;
+    private static final int FISH_COLS = 3;
+
+    private final Layout layout;
+    private final int[] values;
+    private final int[] cand;
+    private int empty;
+    // Statistics of the last solve
+    private final int[] counts = new int[Technique.values().length];
+    private int score;
+    private Technique hardest;
+    private List<String> trace;
+    private Deadline deadline = Deadline.none();
+    // Scratch space of the subset search: entries to combine, their masks, and the chosen indexes
+    private final int[] entries;
+    private final int[] masks;
+    private final int[] chosen = new int[3];
+    // Only built for boards no technique can finish
+    private DLX dlx;
+    // Whether the last solve had to hand the board to DLX
+    private boolean searched;
+
+    // Solver for classic 9x9 boards
+    public LogicSolver() {
+        this(9);
+    }
+
+    // Solver for boardSize x boardSize boards, where boardSize is a perfect square up to 25
+    public LogicSolver(int boardSize) {
+        layout = LAYOUTS.computeIfAbsent(boardSize, Layout::new);
+        values = new int[layout.cells];
+        cand = new int[layout.cells];
+        entries = new int[boardSize];
+        masks = new int[boardSize];
+    }
+
+    public int getBoardSize() {
+        return layout.size;
+    }
+
+    // Solve Sudoku by logical techniques, with DLX as the last resort
+    @Override
+    public boolean solveSudoku(int[][] grid, Deadline deadline) {
+        return solveSudoku(grid, false, deadline);
+    }
+
+    @Override
+    public boolean solveValidated(int[][] grid, Deadline deadline) {
+        return solve(grid, false, deadline, false);
+    }
+
+    // Solve the board in place, keeping a step trace when traced is set, and giving up with a
+    // SolveTimeoutException once the deadline expires
+    public boolean solveSudoku(int[][] grid, boolean traced, Deadline deadline) {
+        return solve(grid, traced, deadline, true);
+    }
+
+    // Same as solveSudoku for a board that already passed BoardValidator
+    boolean solveValidated(int[][] grid, boolean traced, Deadline deadline) {
+        return solve(grid, traced, deadline, false);
+    }
+
+    private boolean solve(int[][] grid, boolean traced, Deadline deadline, boolean validate) {
+        if (grid.length != layout.size) {
+            throw new IllegalArgumentException("Expected a " + layout.size + "x" + layout.size + " board");
+        }
+        Arrays.fill(counts, 0);
+        score = 0;
+        hardest = null;
+        searched = false;
+        trace = traced ? new ArrayList<>() : null;
+        if (validate && BoardValidator.check(grid) != null) {
+            return false;
+        }
+        load(grid);
+        this.deadline = deadline;
+        try {
+            if (!run()) {
+                return false;
+            }
+        } finally {
+            this.deadline = Deadline.none();
+        }
+        int size = layout.size;
+        for (int cell = 0; cell < layout.cells; cell++) {
+            grid[cell / size][cell % size] = values[cell];
+        }
+        return true;
+    }
+
+    // Sum of the weights of every step taken by the last solve
+    public int getScore() {
+        return score;
+    }
+
+    // Hardest technique the last solve needed, null if the board was already full
+    public Technique getHardest() {
+        return hardest;
+    }
+
+    // Steps taken by the last solve, per technique
+    public Map<Technique, Integer> getTechniqueCounts() {
+        Map<Technique, Integer> used = new EnumMap<>(Technique.class);
+        for (Technique technique : Technique.values()) {
+            if (counts[technique.ordinal()] > 0) {
+                used.put(technique, counts[technique.ordinal()]);
+            }
+        }
+        return used;
+    }
+
+    public int getStepCount() {
+        int steps = 0;
+        for (int count : counts) {
+            steps += count;
+        }
+        return steps;
+    }
+
+    // One line per step, e.g. "NS r1c3=7" or "XW 5 r2r7 -3"; null unless the last solve was traced
+    public List<String> getTrace() {
+        return trace;
+    }
+
+    // Counters of the DLX search that finished the board; all zero when the techniques did it alone
+    @Override
+    public SearchStats getSearchStats() {
+        if (searched) {
+            return dlx.getSearchStats();
+        }
+        SearchStats stats = new SearchStats(0, 0);
+        stats.setMaxDepth(0);
+        return stats;
+    }
+
+    private void load(int[][] grid) {
+        int size = layout.size;
+        Arrays.fill(values, 0);
+        Arrays.fill(cand, layout.all);
+        empty = layout.cells;
+        for (int cell = 0; cell < layout.cells; cell++) {
+            int value = grid[cell / size][cell % size];
+            if (value != 0) {
+                place(cell, value);
+            }
+        }
+    }
+
+    private void place(int cell, int value) {
+        int bit = 1 << (value - 1);
+        values[cell] = value;
+        cand[cell] = 0;
+        empty--;
+        for (int peer : layout.peers[cell]) {
+            cand[peer] &= ~bit;
+        }
+    }
+
+    // Apply the easiest technique that makes progress until the board is full, false on a contradiction
+    private boolean run() {
+        long rounds = 0;
+        while (empty > 0) {
+            rounds++;
+            if (deadline.isExpired()) {
+                throw new SolveTimeoutException(rounds);
+            }
+            int singles = nakedSingle();
+            if (singles == 0) {
+                singles = hiddenSingle();
+            }
+            if (singles < 0) {
+                return false;
+            }
+            if (singles > 0 || lockedCandidates()
+                    || subsets(NAKED, 2) || subsets(HIDDEN, 2) || subsets(NAKED, 3) || subsets(HIDDEN, 3)
+                    || fish(2) || fish(3)) {
+                continue;
+            }
+            return search();
+        }
+        return true;
+    }
+
+    // 1 after placing a cell with a single candidate, -1 if an empty cell has none left, else 0
+    private int nakedSingle() {
+        for (int cell = 0; cell < layout.cells; cell++) {
+            int mask = cand[cell];
+            if (values[cell] == 0 && mask == 0) {
+                return -1;
+            }
+            if (mask != 0 && (mask & (mask - 1)) == 0) {
+                int value = Integer.numberOfTrailingZeros(mask) + 1;
+                place(cell, value);
+                step(Technique.NAKED_SINGLE, trace == null ? null : cellName(cell) + "=" + value);
+                return 1;
+            }
+        }
+        return 0;
+    }
+
+    // 1 after placing a digit that fits only one cell of a unit, -1 if a digit fits nowhere in a unit, else 0
+    private int hiddenSingle() {
+        for (int unit = 0; unit < 3 * layout.size; unit++) {
+            int once = 0;
+            int more = 0;
+            int placed = 0;
+            for (int cell : layout.units[unit]) {
+                int mask = cand[cell];
+                more |= once & mask;
+                once |= mask;
+                if (values[cell] != 0) {
+                    placed |= 1 << (values[cell] - 1);
+                }
+            }
+            if ((once | placed) != layout.all) {
+                return -1;
+            }
+            int hidden = once & ~more;
+            if (hidden != 0) {
+                int bit = hidden & -hidden;
+                for (int cell : layout.units[unit]) {
+                    if ((cand[cell] & bit) != 0) {
+                        int value = Integer.numberOfTrailingZeros(bit) + 1;
+                        place(cell, value);
+                        step(Technique.HIDDEN_SINGLE, trace == null ? null : cellName(cell) + "=" + value + " " + unitName(unit));
+                        return 1;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+
+    // Pointing and claiming: when every place for a digit in one unit also lies in a second unit,
+    // the digit is removed from the rest of the second unit
+    private boolean lockedCandidates() {
+        int size = layout.size;
+        for (int unit = 0; unit < 3 * size; unit++) {
+            int type = unit / size;
+            int digits = 0;
+            for (int cell : layout.units[unit]) {
+                digits |= cand[cell];
+            }
+            for (; digits != 0; digits &= digits - 1) {
+                int bit = digits & -digits;
+                int first = -1;
+                int count = 0;
+                // Bit t set while every place so far shares the unit of type t with the first one
+                int shared = 0b111;
+                for (int cell : layout.units[unit]) {
+                    if ((cand[cell] & bit) == 0) {
+                        continue;
+                    }
+                    if (first < 0) {
+                        first = cell;
+                    } else {
+                        for (int t = 0; t < 3; t++) {
+                            if (layout.unitsOf[cell][t] != layout.unitsOf[first][t]) {
+                                shared &= ~(1 << t);
+                            }
+                        }
+                    }
+                    count++;
+                }
+                if (count < 2 || count > layout.box) {
+                    continue;
+                }
+                for (int t = 0; t < 3; t++) {
+                    if (t == type || (shared & (1 << t)) == 0) {
+                        continue;
+                    }
+                    int target = layout.unitsOf[first][t];
+                    int removed = 0;
+                    for (int cell : layout.units[target]) {
+                        if (layout.unitsOf[cell][type] != unit && (cand[cell] & bit) != 0) {
+                            cand[cell] &= ~bit;
+                            removed++;
+                        }
+                    }
+                    if (removed > 0) {
+                        step(Technique.LOCKED_CANDIDATES, trace == null ? null
+                                : (Integer.numberOfTrailingZeros(bit) + 1) + " " + unitName(unit) + ">" + unitName(target) + " -" + removed);
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    // Naked subsets (k cells of a unit holding only k digits between them) and hidden subsets
+    // (k digits of a unit confined to k cells), for k = 2 and 3
+    private boolean subsets(int kind, int k) {
+        for (int unit = 0; unit < 3 * layout.size; unit++) {
+            int n = 0;
+            int[] cells = layout.units[unit];
+            if (kind == NAKED) {
+                for (int i = 0; i < cells.length; i++) {
+                    int count = Integer.bitCount(cand[cells[i]]);
+                    if (count >= 2 && count <= k) {
+                        entries[n] = i;
+                        masks[n++] = cand[cells[i]];
+                    }
+                }
+            } else {
+                for (int digit = 0; digit < layout.size; digit++) {
+                    int positions = 0;
+                    for (int i = 0; i < cells.length; i++) {
+                        if ((cand[cells[i]] & (1 << digit)) != 0) {
+                            positions |= 1 << i;
+                        }
+                    }
+                    int count = Integer.bitCount(positions);
+                    if (count >= 2 && count <= k) {
+                        entries[n] = digit;
+                        masks[n++] = positions;
+                    }
+                }
+            }
+            if (n >= k && combine(kind, unit, n, k, 0, 0, 0)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // X-Wing (k = 2) and Swordfish (k = 3): when a digit fits only k columns in each of k rows, it is
+    // removed from those columns in every other row, and the same with rows and columns swapped
+    private boolean fish(int k) {
+        int size = layout.size;
+        for (int digit = 0; digit < size; digit++) {
+            int bit = 1 << digit;
+            for (int kind = FISH_ROWS; kind <= FISH_COLS; kind++) {
+                int n = 0;
+                for (int line = 0; line < size; line++) {
+                    int positions = 0;
+                    for (int i = 0; i < size; i++) {
+                        int cell = kind == FISH_ROWS ? line * size + i : i * size + line;
+                        if ((cand[cell] & bit) != 0) {
+                            positions |= 1 << i;
+                        }
+                    }
+                    int count = Integer.bitCount(positions);
+                    if (count >= 2 && count <= k) {
+                        entries[n] = line;
+                        masks[n++] = positions;
+                    }
+                }
+                if (n >= k && combine(kind, digit, n, k, 0, 0, 0)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Try every combination of k of the n entries whose masks cover exactly k bits, and apply the
+    // first one that removes a candidate
+    private boolean combine(int kind, int context, int n, int k, int from, int depth, int union) {
+        if (Integer.bitCount(union) > k) {
+            return false;
+        }
+        if (depth == k) {
+            return apply(kind, context, k, union);
+        }
+        for (int i = from; i < n; i++) {
+            chosen[depth] = i;
+            if (combine(kind, context, n, k, i + 1, depth + 1, union | masks[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean apply(int kind, int context, int k, int union) {
+        if (Integer.bitCount(union) != k) {
+            return false; // fewer than k bits is a contradiction, left to the singles to report
+        }
+        int size = layout.size;
+        int removed = 0;
+        int chosenEntries = 0;
+        for (int i = 0; i < k; i++) {
+            chosenEntries |= 1 << entries[chosen[i]];
+        }
+        int[] cells = kind <= HIDDEN ? layout.units[context] : null;
+        switch (kind) {
+            case NAKED -> {
+                // union holds the k digits, chosenEntries the k cells inside the unit
+                for (int i = 0; i < size; i++) {
+                    if ((chosenEntries & (1 << i)) == 0 && (cand[cells[i]] & union) != 0) {
+                        removed += Integer.bitCount(cand[cells[i]] & union);
+                        cand[cells[i]] &= ~union;
+                    }
+                }
+            }
+            case HIDDEN -> {
+                // union holds the k cells inside the unit, chosenEntries the k digits
+                for (int i = 0; i < size; i++) {
+                    if ((union & (1 << i)) != 0 && (cand[cells[i]] & ~chosenEntries) != 0) {
+                        removed += Integer.bitCount(cand[cells[i]] & ~chosenEntries);
+                        cand[cells[i]] &= chosenEntries;
+                    }
+                }
+            }
+            default -> {
+                // union holds the k cover lines, chosenEntries the k base lines, context the digit
+                int bit = 1 << context;
+                for (int line = 0; line < size; line++) {
+                    if ((chosenEntries & (1 << line)) != 0) {
+                        continue;
+                    }
+                    for (int i = 0; i < size; i++) {
+                        if ((union & (1 << i)) == 0) {
+                            continue;
+                        }
+                        int cell = kind == FISH_ROWS ? line * size + i : i * size + line;
+                        if ((cand[cell] & bit) != 0) {
+                            cand[cell] &= ~bit;
+                            removed++;
+                        }
+                    }
+                }
+            }
+        }
+        if (removed == 0) {
+            return false;
+        }
+        Technique technique = switch (kind) {
+            case NAKED -> k == 2 ? Technique.NAKED_PAIR : Technique.NAKED_TRIPLE;
+            case HIDDEN -> k == 2 ? Technique.HIDDEN_PAIR : Technique.HIDDEN_TRIPLE;
+            default -> k == 2 ? Technique.X_WING : Technique.SWORDFISH;
+        };
+        if (trace != null) {
+            String detail = switch (kind) {
+                case NAKED -> digitList(union) + " " + unitName(context);
+                case HIDDEN -> digitList(chosenEntries) + " " + unitName(context);
+                default -> (context + 1) + " " + lineList(kind == FISH_ROWS ? "r" : "c", chosenEntries);
+            };
+            step(technique, detail + " -" + removed);
+        } else {
+            step(technique, null);
+        }
+        return true;
+    }
+
+    // No technique applies: let DLX finish the board from the cells placed so far
+    private boolean search() {
+        int size = layout.size;
+        int[][] grid = new int[size][size];
+        for (int cell = 0; cell < layout.cells; cell++) {
+            grid[cell / size][cell % size] = values[cell];
+        }
+        if (dlx == null) {
+            dlx = new DLX(size);
+        }
+        int remaining = empty;
+        searched = true;
+        if (!dlx.solveSudoku(grid, deadline)) {
+            return false;
+        }
+        for (int cell = 0; cell < layout.cells; cell++) {
+            values[cell] = grid[cell / size][cell % size];
+            cand[cell] = 0;
+        }
+        empty = 0;
+        step(Technique.SEARCH, trace == null ? null : String.valueOf(remaining));
+        return true;
+    }
+
+    private void step(Technique technique, String detail) {
+        counts[technique.ordinal()]++;
+        score += technique.getWeight();
+        if (hardest == null || technique.ordinal() > hardest.ordinal()) {
+            hardest = technique;
+        }
+        if (trace != null) {
+            trace.add(technique.getCode() + " " + detail);
+        }
+    }
+
+    private String cellName(int cell) {
+        return "r" + (cell / layout.size + 1) + "c" + (cell % layout.size + 1);
+    }
+
+    private String unitName(int unit) {
+        int size = layout.size;
+        return unit < size ? "r" + (unit + 1) : unit < 2 * size ? "c" + (unit - size + 1) : "b" + (unit - 2 * size + 1);
+    }
+
+    private static String digitList(int mask) {
+        StringBuilder digits = new StringBuilder();
+        for (; mask != 0; mask &= mask - 1) {
+            if (digits.length() > 0) {
+                digits.append(',');
+            }
+            digits.append(Integer.numberOfTrailingZeros(mask) + 1);
+        }
+        return digits.toString();
+    }
+
+    private static String lineList(String prefix, int mask) {
+        StringBuilder lines = new StringBuilder();
+        for (; mask != 0; mask &= mask - 1) {
+            lines.append(prefix).append(Integer.numberOfTrailingZeros(mask) + 1);
+        }
+        return lines.toString();
+    }
+}
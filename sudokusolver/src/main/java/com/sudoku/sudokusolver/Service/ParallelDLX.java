@@ -0,0 +1,191 @@
+package com.sudoku.sudokusolver.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+// DLX search spread over a fork-join pool. The top of the search tree is expanded on the calling
+// thread by placing each candidate row of the column DLX would branch on, level by level, until
+// there are a few subtrees per worker; every subtree is then searched by its own DLX instance,
+// so no cover state is shared. A solve stops all subtrees on the first solution, a count sums
+// the subtrees and stops them once the limit is reached.
+public class ParallelDLX {
+
+    // Subtrees per worker, so work-stealing can even out subtrees of very different sizes
+    private static final int TASKS_PER_WORKER = 8;
+    // Levels expanded at most, forced placements do not add subtrees
+    private static final int MAX_SPLIT_DEPTH = 8;
+
+    private final ForkJoinPool pool;
+    private final IntFunction<SolverPool<DLX>> solvers;
+
+    // solvers gives the DLX pool for a board size, so subtrees reuse the service's instances
+    public ParallelDLX(ForkJoinPool pool, IntFunction<SolverPool<DLX>> solvers) {
+        this.pool = pool;
+        this.solvers = solvers;
+    }
+
+    // Outcome and statistics of one parallel search, summed over all subtrees
+    public static final class Search {
+        private final int limit;
+        private final boolean write;
+        private final AtomicBoolean stop = new AtomicBoolean();
+        private final AtomicInteger solutions = new AtomicInteger();
+        private final AtomicReference<int[][]> solution = new AtomicReference<>();
+        private final Deadline deadline;
+        private volatile boolean timedOut;
+        private final LongAdder nodes = new LongAdder();
+        private final LongAdder backtracks = new LongAdder();
+
+        private Search(int limit, boolean write, Deadline deadline) {
+            this.limit = limit;
+            this.write = write;
+            this.deadline = deadline;
+        }
+
+        // Solutions found, never more than the limit
+        public int getSolutionCount() {
+            return Math.min(solutions.get(), limit);
+        }
+
+        public long getNodeCount() {
+            return nodes.sum();
+        }
+
+        public long getBacktrackCount() {
+            return backtracks.sum();
+        }
+
+        // True when the deadline expired before the subtrees were done, counts are then lower bounds
+        public boolean isTimedOut() {
+            return timedOut;
+        }
+    }
+
+    // Solve the board in place, true if a solution was found
+    public Search solve(int[][] board) {
+        return solve(board, Deadline.none());
+    }
+
+    // Solve the board in place, stopping every subtree once the deadline expires
+    public Search solve(int[][] board, Deadline deadline) {
+        Search search = run(board, 1, true, deadline);
+        int[][] solved = search.solution.get();
+        if (solved != null) {
+            for (int i = 0; i < board.length; i++) {
+                System.arraycopy(solved[i], 0, board[i], 0, board.length);
+            }
+        }
+        return search;
+    }
+
+    // Count solutions up to limit without touching the board
+    public Search count(int[][] board, int limit) {
+        return count(board, limit, Deadline.none());
+    }
+
+    // Count solutions up to limit without touching the board, stopping every subtree once the deadline expires
+    public Search count(int[][] board, int limit, Deadline deadline) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Solution limit must be at least 1");
+        }
+        return run(board, limit, false, deadline);
+    }
+
+    private Search run(int[][] board, int limit, boolean write, Deadline deadline) {
+        Search search = new Search(limit, write, deadline);
+        SolverPool<DLX> dlx = solvers.apply(board.length);
+        List<int[][]> subtrees = split(board, dlx, pool.getParallelism() * TASKS_PER_WORKER);
+        List<Subtree> tasks = new ArrayList<>(subtrees.size());
+        for (int[][] subtree : subtrees) {
+            tasks.add(new Subtree(subtree, search, dlx));
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                ForkJoinTask.invokeAll(tasks);
+            }
+        });
+        return search;
+    }
+
+    // Expand the top levels of the search tree into boards with the branching placements filled in,
+    // one level deeper at a time until there are target subtrees
+    private static List<int[][]> split(int[][] board, SolverPool<DLX> dlx, int target) {
+        List<int[]> paths = new ArrayList<>();
+        DLX solver = dlx.checkout();
+        try {
+            for (int depth = 1; depth <= MAX_SPLIT_DEPTH; depth++) {
+                paths.clear();
+                if (!solver.splitRows(board, depth, paths) || paths.size() >= target) {
+                    break;
+                }
+            }
+        } finally {
+            dlx.release(solver);
+        }
+
+        int n = board.length;
+        List<int[][]> subtrees = new ArrayList<>(paths.size());
+        for (int[] path : paths) {
+            int[][] subtree = copy(board);
+            for (int candidate : path) {
+                int cell = candidate / n;
+                subtree[cell / n][cell % n] = candidate % n + 1;
+            }
+            subtrees.add(subtree);
+        }
+        return subtrees;
+    }
+
+    private static int[][] copy(int[][] board) {
+        int[][] copy = new int[board.length][];
+        for (int i = 0; i < board.length; i++) {
+            copy[i] = board[i].clone();
+        }
+        return copy;
+    }
+
+    // One subtree searched by a checked-out DLX instance
+    private static final class Subtree extends RecursiveAction {
+        private final int[][] board;
+        private final Search search;
+        private final SolverPool<DLX> dlx;
+
+        Subtree(int[][] board, Search search, SolverPool<DLX> dlx) {
+            this.board = board;
+            this.search = search;
+            this.dlx = dlx;
+        }
+
+        @Override
+        protected void compute() {
+            if (search.stop.get()) {
+                return;
+            }
+            DLX solver = dlx.checkout();
+            try {
+                int found = solver.searchShared(board, search.limit, search.write, search.stop, search.solutions,
+                        search.deadline);
+                // Subtrees may find a solution at the same moment, only the first one is kept
+                if (found > 0 && search.write) {
+                    search.solution.compareAndSet(null, board);
+                }
+            } catch (SolveTimeoutException e) {
+                search.timedOut = true;
+                search.stop.set(true);
+            } finally {
+                search.nodes.add(solver.getNodeCount());
+                search.backtracks.add(solver.getBacktrackCount());
+                dlx.release(solver);
+            }
+        }
+    }
+}
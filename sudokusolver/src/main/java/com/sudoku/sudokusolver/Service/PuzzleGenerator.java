@@ -0,0 +1,74 @@
+package com.sudoku.sudokusolver.Service;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Generator for 9x9 puzzles with exactly one solution. Starting from a random full grid,
+// clues are removed in random order and a removal is kept only if DLX still counts a
+// single solution. Digging stops at the target clue count or when the time budget runs out,
+// so the returned puzzle is always unique but may keep more clues than asked for.
+public class PuzzleGenerator {
+
+    private static final int N = 9;
+    private static final int CELLS = N * N;
+    // Fewest clues a 9x9 puzzle with a unique solution can have
+    public static final int MIN_CLUES = 17;
+
+    private final DLX counter = new DLX(N);
+    private final int[] order = new int[CELLS];
+
+    // Dig a puzzle towards minClues, accepting anything up to maxClues, within budgetNanos.
+    // A pass that gets stuck above maxClues is retried on a fresh grid while time remains;
+    // the closest puzzle seen is returned.
+    public int[][] generate(int minClues, int maxClues, long budgetNanos) {
+        if (minClues < MIN_CLUES || maxClues > CELLS || minClues > maxClues) {
+            throw new IllegalArgumentException("Clue count must be between " + MIN_CLUES + " and " + CELLS);
+        }
+        Deadline deadline = Deadline.after(budgetNanos);
+        int[][] best = null;
+        int bestClues = CELLS + 1;
+        do {
+            int[][] puzzle = fullGrid();
+            int clues = dig(puzzle, minClues, deadline);
+            if (clues < bestClues) {
+                best = puzzle;
+                bestClues = clues;
+            }
+        } while (bestClues > maxClues && !deadline.isExpired());
+        return best;
+    }
+
+    // Random complete grid from the classic generator with nothing removed
+    private static int[][] fullGrid() {
+        Sudoku sudoku = new Sudoku(N, 0);
+        sudoku.fillValues();
+        return sudoku.getMat();
+    }
+
+    // Remove clues in random order while the solution stays unique, returns the clues left
+    private int dig(int[][] puzzle, int minClues, Deadline deadline) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < CELLS; i++) {
+            int j = random.nextInt(i + 1);
+            order[i] = order[j];
+            order[j] = i;
+        }
+
+        int clues = CELLS;
+        for (int k = 0; k < CELLS && clues > minClues && !deadline.isExpired(); k++) {
+            int row = order[k] / N;
+            int col = order[k] % N;
+            int value = puzzle[row][col];
+            puzzle[row][col] = 0;
+            try {
+                if (counter.countSolutions(puzzle, 2, deadline) == 1) {
+                    clues--;
+                    continue;
+                }
+            } catch (SolveTimeoutException e) {
+                // Uniqueness unknown, keep the clue
+            }
+            puzzle[row][col] = value;
+        }
+        return clues;
+    }
+}
@@ -0,0 +1,167 @@
+package com.sudoku.sudokusolver.Service;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+
+// Ready-made unique puzzles for every difficulty band, so /api/new only has to dequeue one.
+// Each band holds at most capacity puzzles in a lock-free queue; a take that leaves fewer than
+// lowWater puzzles schedules a background refill, and an empty band falls back to generating
+// on a solver thread, admitted like a solve. Refills generate a few puzzles at a time and then go to the back of
+// the worker queue, so one slow band cannot keep the others waiting.
+@Service
+public class PuzzleReservoir {
+
+    // Generation attempts of one refill turn before the band yields the worker to the next band
+    static final int REFILL_CHUNK = 4;
+
+    // Queue and bookkeeping of one difficulty band
+    private static final class Band {
+        final Difficulty difficulty;
+        final ConcurrentLinkedQueue<GeneratedPuzzle> puzzles = new ConcurrentLinkedQueue<>();
+        final AtomicInteger depth = new AtomicInteger();
+        // Only one refill task per band is queued or running at a time
+        final AtomicBoolean refilling = new AtomicBoolean();
+        final Counter filled;
+        final Counter served;
+        final Counter starved;
+
+        Band(Difficulty difficulty, MeterRegistry registry) {
+            this.difficulty = difficulty;
+            String tag = difficulty.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("sudoku.reservoir.depth", depth, AtomicInteger::get)
+                    .description("Ready puzzles waiting in the reservoir")
+                    .tag("difficulty", tag)
+                    .register(registry);
+            filled = Counter.builder("sudoku.reservoir.filled")
+                    .description("Puzzles added to the reservoir by background refills")
+                    .tag("difficulty", tag)
+                    .register(registry);
+            served = Counter.builder("sudoku.reservoir.served")
+                    .description("Puzzles taken from the reservoir")
+                    .tag("difficulty", tag)
+                    .register(registry);
+            starved = Counter.builder("sudoku.reservoir.starved")
+                    .description("Requests that found the reservoir empty and generated inline")
+                    .tag("difficulty", tag)
+                    .register(registry);
+        }
+    }
+
+    private final SudokuService service;
+    private final SolveExecutor executor;
+    private final Map<Difficulty, Band> bands = new EnumMap<>(Difficulty.class);
+    private final ExecutorService workers;
+    private final int capacity;
+    private final int lowWater;
+    private final boolean prefill;
+
+    public PuzzleReservoir(SudokuService service, SolveExecutor executor, MeterRegistry registry,
+                           @Value("${sudoku.reservoir.capacity:64}") int capacity,
+                           @Value("${sudoku.reservoir.low-water:16}") int lowWater,
+                           @Value("${sudoku.reservoir.threads:1}") int threads,
+                           @Value("${sudoku.reservoir.prefill:true}") boolean prefill) {
+        this.service = service;
+        this.executor = executor;
+        this.capacity = capacity;
+        this.lowWater = Math.min(lowWater, capacity);
+        this.prefill = prefill;
+        this.workers = Executors.newFixedThreadPool(threads);
+        for (Difficulty difficulty : Difficulty.values()) {
+            bands.put(difficulty, new Band(difficulty, registry));
+        }
+    }
+
+    // Fill every band once the application is up rather than while the context is still starting;
+    // without prefill the bands fill on their first takes
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (prefill) {
+            fill();
+        }
+    }
+
+    public void fill() {
+        for (Band band : bands.values()) {
+            scheduleRefill(band);
+        }
+    }
+
+    // Ready puzzle of the band, generated on the spot only when the band has run dry. That is a full
+    // generate-and-verify, so it waits for a solver thread and may be turned away like a solve.
+    public GeneratedPuzzle take(Difficulty difficulty) {
+        Band band = bands.get(difficulty);
+        GeneratedPuzzle puzzle = band.puzzles.poll();
+        if (puzzle == null) {
+            band.starved.increment();
+            scheduleRefill(band);
+            return executor.call(() -> service.generateUnique(difficulty, null));
+        }
+        int depth = band.depth.decrementAndGet();
+        band.served.increment();
+        if (depth < lowWater) {
+            scheduleRefill(band);
+        }
+        return puzzle;
+    }
+
+    public int depth(Difficulty difficulty) {
+        return bands.get(difficulty).depth.get();
+    }
+
+    private void scheduleRefill(Band band) {
+        if (band.refilling.compareAndSet(false, true)) {
+            workers.execute(() -> refill(band));
+        }
+    }
+
+    // One refill turn of at most REFILL_CHUNK attempts; puzzles whose budget ran out outside the band
+    // are dropped. A band that is still short queues its next turn behind the other bands.
+    private void refill(Band band) {
+        try {
+            for (int attempt = 0; attempt < REFILL_CHUNK && band.depth.get() < capacity
+                    && !Thread.currentThread().isInterrupted(); attempt++) {
+                GeneratedPuzzle puzzle = service.generateUnique(band.difficulty, null);
+                if (puzzle.getDifficulty() == band.difficulty) {
+                    band.puzzles.offer(puzzle);
+                    band.depth.incrementAndGet();
+                    band.filled.increment();
+                }
+            }
+        } catch (RuntimeException e) {
+            band.refilling.set(false);
+            throw e;
+        }
+        if (band.depth.get() < capacity && !Thread.currentThread().isInterrupted()) {
+            // The band keeps its refill flag while its next turn waits
+            workers.execute(() -> refill(band));
+            return;
+        }
+        band.refilling.set(false);
+        // A take may have dipped below the mark after the loop ended but before the flag was cleared
+        if (band.depth.get() < lowWater && !Thread.currentThread().isInterrupted()) {
+            scheduleRefill(band);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,71 @@
+package com.sudoku.sudokusolver.Service;
+
+import java.util.Arrays;
+
+// Jigsaw Sudoku: irregular regions of size cells each take the place of the boxes
+public final class RegionConstraint implements Constraint {
+
+    private final int size;
+    // Region of every cell in row-major order, counting from 0
+    private final int[] regionOf;
+
+    // regions numbers every cell's region from 1 to size, and every region has exactly size cells
+    public RegionConstraint(int[][] regions) {
+        int size = regions.length;
+        if (!SudokuFormat.isSupportedSize(size)) {
+            throw new IllegalArgumentException("Expected a 4x4, 9x9, 16x16 or 25x25 region layout");
+        }
+        this.size = size;
+        this.regionOf = new int[size * size];
+        int[] cells = new int[size];
+        for (int r = 0; r < size; r++) {
+            if (regions[r] == null || regions[r].length != size) {
+                throw new IllegalArgumentException("Expected " + size + " regions in row " + (r + 1));
+            }
+            for (int c = 0; c < size; c++) {
+                int region = regions[r][c];
+                if (region < 1 || region > size) {
+                    throw new IllegalArgumentException("Region " + region + " at row " + (r + 1) + ", column " + (c + 1)
+                            + " is outside 1-" + size);
+                }
+                regionOf[r * size + c] = region - 1;
+                cells[region - 1]++;
+            }
+        }
+        for (int region = 0; region < size; region++) {
+            if (cells[region] != size) {
+                throw new IllegalArgumentException("Region " + (region + 1) + " has " + cells[region] + " cells instead of " + size);
+            }
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public int unitCount(int size) {
+        return size;
+    }
+
+    @Override
+    public int unit(int size, int row, int col) {
+        return regionOf[row * size + col];
+    }
+
+    @Override
+    public String unitName(int size, int unit) {
+        return "region " + (unit + 1);
+    }
+
+    // Two layouts are the same variant, so their solves share one matrix
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof RegionConstraint regions && Arrays.equals(regionOf, regions.regionOf);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(regionOf);
+    }
+}
@@ -0,0 +1,75 @@
+package com.sudoku.sudokusolver.Service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Counters of one search, to tell a genuinely hard puzzle from a slow engine. Fields an engine
+// does not track are left null.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SearchStats {
+    private long nodes;
+    // Placements tried and then undone
+    private long backtracks;
+    // Deepest search level reached, one level per guessed placement
+    private Integer maxDepth;
+    // Column covers and uncovers, exact-cover engines only
+    private Long covers;
+    private Long uncovers;
+    // Branching decisions by the number of choices left where the search branched (the size of
+    // the chosen column, or the candidates of the chosen cell): branching[1] counts forced moves,
+    // branching[0] dead ends
+    private long[] branching;
+
+    public SearchStats(long nodes, long backtracks) {
+        this.nodes = nodes;
+        this.backtracks = backtracks;
+    }
+
+    // Getters and Setters
+    public long getNodes() {
+        return nodes;
+    }
+
+    public void setNodes(long nodes) {
+        this.nodes = nodes;
+    }
+
+    public long getBacktracks() {
+        return backtracks;
+    }
+
+    public void setBacktracks(long backtracks) {
+        this.backtracks = backtracks;
+    }
+
+    public Integer getMaxDepth() {
+        return maxDepth;
+    }
+
+    public void setMaxDepth(Integer maxDepth) {
+        this.maxDepth = maxDepth;
+    }
+
+    public Long getCovers() {
+        return covers;
+    }
+
+    public void setCovers(Long covers) {
+        this.covers = covers;
+    }
+
+    public Long getUncovers() {
+        return uncovers;
+    }
+
+    public void setUncovers(Long uncovers) {
+        this.uncovers = uncovers;
+    }
+
+    public long[] getBranching() {
+        return branching;
+    }
+
+    public void setBranching(long[] branching) {
+        this.branching = branching;
+    }
+}
@@ -0,0 +1,111 @@
+package com.sudoku.sudokusolver.Service;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// Bounded W-TinyLFU cache of solutions for 9x9 puzzles, keyed by the packed 4-bit canonical
+// form of the puzzle so that relabeled, permuted or transposed variants share one entry.
+// Values are canonical packed solutions, or an empty array for puzzles without a solution.
+@Component
+public class SolutionCache {
+
+    private static final byte[] UNSOLVABLE = new byte[0];
+
+    private final Cache<Key, byte[]> cache;
+    private final boolean canonicalize;
+
+    @Autowired
+    public SolutionCache(@Value("${sudoku.cache.enabled:true}") boolean enabled,
+                         @Value("${sudoku.cache.max-size:100000}") long maxSize,
+                         @Value("${sudoku.cache.ttl:1h}") Duration ttl,
+                         @Value("${sudoku.cache.canonicalize:true}") boolean canonicalize,
+                         MeterRegistry registry) {
+        this.canonicalize = canonicalize;
+        if (!enabled) {
+            this.cache = null;
+            return;
+        }
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "sudoku.solutions");
+    }
+
+    private SolutionCache() {
+        this.cache = null;
+        this.canonicalize = false;
+    }
+
+    // Cache that never stores anything
+    public static SolutionCache disabled() {
+        return new SolutionCache();
+    }
+
+    public boolean isEnabled() {
+        return cache != null;
+    }
+
+    // Canonical form used to look the board up and to store its solution
+    public CanonicalForm formOf(int[][] board) {
+        return canonicalize ? CanonicalForm.of(board) : CanonicalForm.identity(board);
+    }
+
+    // Fill board with the cached solution; returns the cached status, or null on a miss
+    public SolveStatus lookup(CanonicalForm form, int[][] board) {
+        byte[] solution = cache.getIfPresent(new Key(form.packed()));
+        if (solution == null) {
+            return null;
+        }
+        if (solution == UNSOLVABLE) {
+            return SolveStatus.UNSOLVABLE;
+        }
+        form.fromCanonical(solution, board);
+        return SolveStatus.SOLVED;
+    }
+
+    public void store(CanonicalForm form, SolveStatus status, int[][] solution) {
+        byte[] value = status == SolveStatus.SOLVED ? form.toCanonical(solution) : UNSOLVABLE;
+        cache.put(new Key(form.packed()), value);
+    }
+
+    public CacheStats stats() {
+        return cache != null ? cache.stats() : CacheStats.empty();
+    }
+
+    public long size() {
+        return cache != null ? cache.estimatedSize() : 0;
+    }
+
+    private static final class Key {
+        private final byte[] bytes;
+        private final int hash;
+
+        Key(byte[] bytes) {
+            this.bytes = bytes;
+            this.hash = Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && hash == key.hash && Arrays.equals(bytes, key.bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
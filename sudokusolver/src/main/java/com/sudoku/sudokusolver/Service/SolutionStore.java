@@ -0,0 +1,340 @@
+package com.sudoku.sudokusolver.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+
+// Append-only file of solved 9x9 puzzles that outlives restarts, read through memory-mapped regions.
+// Keys and values are the same packed canonical forms as in SolutionCache.
+//
+// Every record is a fixed 88 bytes: status, packed puzzle (41), packed solution (41, zeros when
+// unsolvable), one padding byte and a CRC32 of the rest. Records are only ever appended, by one
+// writer thread, and the hash index lives in memory: it is rebuilt on open by scanning the file up
+// to the first record whose checksum fails. A crash can therefore lose the records that were not
+// flushed yet, but never leaves an index pointing at a torn record.
+@Component
+public class SolutionStore {
+
+    static final int KEY_BYTES = 41;
+    static final int RECORD_BYTES = 88;
+    private static final int CRC_OFFSET = RECORD_BYTES - 4;
+    // Files are mapped 65536 records (5.5 MB) at a time; a record never straddles two regions
+    private static final int REGION_RECORDS = 1 << 16;
+    private static final long REGION_BYTES = (long) REGION_RECORDS * RECORD_BYTES;
+    private static final byte SOLVED = 1;
+    private static final byte UNSOLVABLE = 2;
+    // Solutions waiting to be written back; beyond this they are dropped and solved again next time
+    private static final int WRITE_QUEUE = 10_000;
+
+    private final FileChannel channel;
+    private final List<MappedByteBuffer> regions = new ArrayList<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ThreadPoolExecutor writer;
+    private final CRC32 crc = new CRC32();
+    private final byte[] record = new byte[RECORD_BYTES];
+    // Open addressing over record numbers + 1, 0 marks a free slot
+    private int[] slots = new int[1024];
+    private int count;
+    private int forced;
+    private Counter dropped;
+
+    @Autowired
+    public SolutionStore(@Value("${sudoku.store.path:}") String path, MeterRegistry registry) throws IOException {
+        this(path.isBlank() ? null : Path.of(path));
+        if (channel != null) {
+            Gauge.builder("sudoku.store.records", this, SolutionStore::size)
+                    .description("Solved puzzles kept in the on-disk store")
+                    .register(registry);
+            dropped = Counter.builder("sudoku.store.dropped")
+                    .description("Solutions not written back because the write queue was full")
+                    .register(registry);
+        }
+    }
+
+    private SolutionStore(Path path) throws IOException {
+        if (path == null) {
+            this.channel = null;
+            this.writer = null;
+            return;
+        }
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // Only one writer may append, so a second process (the import tool next to a running server) fails here
+        boolean locked;
+        try {
+            locked = channel.tryLock() != null;
+        } catch (OverlappingFileLockException e) {
+            locked = false;
+        }
+        if (!locked) {
+            channel.close();
+            throw new IllegalStateException("Solution store " + path + " is already open in another process");
+        }
+        long regionsOnDisk = (channel.size() + REGION_BYTES - 1) / REGION_BYTES;
+        for (int i = 0; i < regionsOnDisk; i++) {
+            mapRegion();
+        }
+        recover();
+        this.writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(WRITE_QUEUE), task -> {
+            Thread thread = new Thread(task, "sudoku-store-writer");
+            thread.setDaemon(true);
+            return thread;
+        }, (task, executor) -> {
+            if (dropped != null) {
+                dropped.increment();
+            }
+        });
+    }
+
+    // Store at path, created if missing; used directly by the import tool
+    public static SolutionStore open(Path path) throws IOException {
+        return new SolutionStore(path);
+    }
+
+    // Store that never holds anything
+    public static SolutionStore disabled() {
+        try {
+            return new SolutionStore((Path) null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return channel != null;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Fill board with the stored solution; returns the stored status, or null when the puzzle is unknown
+    public SolveStatus lookup(CanonicalForm form, int[][] board) {
+        byte[] key = form.packed();
+        byte[] solution = new byte[KEY_BYTES];
+        byte status;
+        lock.readLock().lock();
+        try {
+            int index = find(key);
+            if (index < 0) {
+                return null;
+            }
+            MappedByteBuffer region = regions.get(index / REGION_RECORDS);
+            int offset = (index % REGION_RECORDS) * RECORD_BYTES;
+            status = region.get(offset);
+            region.get(offset + 1 + KEY_BYTES, solution);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (status == UNSOLVABLE) {
+            return SolveStatus.UNSOLVABLE;
+        }
+        form.fromCanonical(solution, board);
+        return SolveStatus.SOLVED;
+    }
+
+    // Queue a solve result for the writer thread; the caller never waits for the disk
+    public void storeAsync(CanonicalForm form, SolveStatus status, int[][] solution) {
+        byte[] key = form.packed();
+        byte[] value = status == SolveStatus.SOLVED ? form.toCanonical(solution) : null;
+        writer.execute(() -> {
+            append(key, status, value);
+            // Flush once the queue has drained, so bursts are written with one sync
+            if (writer.getQueue().isEmpty()) {
+                flush();
+            }
+        });
+    }
+
+    // Append one record unless the puzzle is already stored; false for a known puzzle.
+    // value is the packed canonical solution, or null for an unsolvable puzzle.
+    public synchronized boolean append(byte[] key, SolveStatus status, byte[] value) {
+        if (status != SolveStatus.SOLVED && status != SolveStatus.UNSOLVABLE) {
+            throw new IllegalArgumentException("Only solved and unsolvable puzzles are stored");
+        }
+        lock.readLock().lock();
+        try {
+            if (find(key) >= 0) {
+                return false;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        Arrays.fill(record, (byte) 0);
+        record[0] = status == SolveStatus.SOLVED ? SOLVED : UNSOLVABLE;
+        System.arraycopy(key, 0, record, 1, KEY_BYTES);
+        if (value != null) {
+            System.arraycopy(value, 0, record, 1 + KEY_BYTES, KEY_BYTES);
+        }
+        crc.reset();
+        crc.update(record, 0, CRC_OFFSET);
+        int checksum = (int) crc.getValue();
+        record[CRC_OFFSET] = (byte) (checksum >>> 24);
+        record[CRC_OFFSET + 1] = (byte) (checksum >>> 16);
+        record[CRC_OFFSET + 2] = (byte) (checksum >>> 8);
+        record[CRC_OFFSET + 3] = (byte) checksum;
+
+        // Bytes first, index second: a reader only finds the record once it is complete
+        int index = count;
+        if (index / REGION_RECORDS == regions.size()) {
+            lock.writeLock().lock();
+            try {
+                mapRegion();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        regions.get(index / REGION_RECORDS).put((index % REGION_RECORDS) * RECORD_BYTES, record);
+        lock.writeLock().lock();
+        try {
+            count = index + 1;
+            insert(index, key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return true;
+    }
+
+    // Force appended records out to the file
+    public synchronized void flush() {
+        if (channel == null || forced == count) {
+            return;
+        }
+        for (int region = forced / REGION_RECORDS; region <= (count - 1) / REGION_RECORDS; region++) {
+            regions.get(region).force();
+        }
+        forced = count;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        writer.shutdown();
+        try {
+            writer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        channel.close();
+    }
+
+    // Count the records up to the first one that is empty or torn, and index them
+    private void recover() {
+        byte[] bytes = new byte[RECORD_BYTES];
+        byte[] key = new byte[KEY_BYTES];
+        long capacity = (long) regions.size() * REGION_RECORDS;
+        while (count < capacity) {
+            regions.get(count / REGION_RECORDS).get((count % REGION_RECORDS) * RECORD_BYTES, bytes);
+            if (!isValid(bytes)) {
+                break;
+            }
+            System.arraycopy(bytes, 1, key, 0, KEY_BYTES);
+            if (find(key) < 0) {
+                insert(count, key);
+            }
+            count++;
+        }
+        forced = count;
+    }
+
+    private boolean isValid(byte[] bytes) {
+        if (bytes[0] != SOLVED && bytes[0] != UNSOLVABLE) {
+            return false;
+        }
+        crc.reset();
+        crc.update(bytes, 0, CRC_OFFSET);
+        int checksum = (int) crc.getValue();
+        return (byte) (checksum >>> 24) == bytes[CRC_OFFSET] && (byte) (checksum >>> 16) == bytes[CRC_OFFSET + 1]
+                && (byte) (checksum >>> 8) == bytes[CRC_OFFSET + 2] && (byte) checksum == bytes[CRC_OFFSET + 3];
+    }
+
+    // Mapping past the end of the file grows it; the new region reads as zeros, i.e. no records
+    private void mapRegion() {
+        try {
+            regions.add(channel.map(FileChannel.MapMode.READ_WRITE, regions.size() * REGION_BYTES, REGION_BYTES));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Record number holding key, or -1
+    private int find(byte[] key) {
+        int mask = slots.length - 1;
+        byte[] stored = new byte[KEY_BYTES];
+        for (int slot = hash(key) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            int index = slots[slot] - 1;
+            regions.get(index / REGION_RECORDS).get((index % REGION_RECORDS) * RECORD_BYTES + 1, stored);
+            if (Arrays.equals(stored, key)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    // Index a record, doubling the table to stay at most half full
+    private void insert(int index, byte[] key) {
+        if (2 * (count + 1) > slots.length) {
+            int[] old = slots;
+            slots = new int[old.length * 2];
+            byte[] stored = new byte[KEY_BYTES];
+            for (int entry : old) {
+                if (entry != 0) {
+                    int other = entry - 1;
+                    regions.get(other / REGION_RECORDS).get((other % REGION_RECORDS) * RECORD_BYTES + 1, stored);
+                    place(entry, stored);
+                }
+            }
+        }
+        place(index + 1, key);
+    }
+
+    private void place(int entry, byte[] key) {
+        int mask = slots.length - 1;
+        int slot = hash(key) & mask;
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = entry;
+    }
+
+    private static int hash(byte[] key) {
+        int h = Arrays.hashCode(key);
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return h;
+    }
+}
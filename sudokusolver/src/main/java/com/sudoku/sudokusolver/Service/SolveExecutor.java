@@ -0,0 +1,136 @@
+package com.sudoku.sudokusolver.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+
+// Admission control for every solving request. Solving is CPU-bound, so at most one solve per core
+// runs at a time and a bounded queue absorbs short bursts. Once the queue is full a request is
+// turned away with a SolveRejectedException instead of piling up behind the others; request
+// threads (virtual ones with spring.threads.virtual.enabled) only park while they wait.
+// Batches and streams submit their boards here too, a few at a time, so they share the cores with
+// single-board requests instead of running on pools of their own.
+@Service
+public class SolveExecutor {
+
+    private final ThreadPoolExecutor pool;
+    private final int threads;
+    private final int queueCapacity;
+    private final Counter rejected;
+
+    public SolveExecutor(MeterRegistry registry,
+                         @Value("${sudoku.solve.threads:0}") int threads,
+                         @Value("${sudoku.solve.queue-capacity:64}") int queueCapacity) {
+        int workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.threads = workers;
+        this.queueCapacity = queueCapacity;
+        AtomicInteger index = new AtomicInteger();
+        ThreadFactory factory = task -> {
+            Thread thread = new Thread(task, "sudoku-solve-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        // AbortPolicy: execute() throws once every worker is busy and the queue is full
+        this.pool = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                queueCapacity > 0 ? new ArrayBlockingQueue<>(queueCapacity) : new SynchronousQueue<>(), factory,
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("sudoku.solve.queue", pool, p -> p.getQueue().size())
+                .description("Requests waiting for a solver thread")
+                .register(registry);
+        Gauge.builder("sudoku.solve.active", pool, ThreadPoolExecutor::getActiveCount)
+                .description("Solver threads busy with a request")
+                .register(registry);
+        this.rejected = Counter.builder("sudoku.solve.rejected")
+                .description("Requests turned away because the admission queue was full")
+                .register(registry);
+    }
+
+    // Run the task on a solver thread and wait for its result; exceptions thrown by the task are rethrown as they are
+    public <T> T call(Supplier<T> task) {
+        return await(submit(task::get));
+    }
+
+    // Same as call, but cancels the request's deadline when the caller stops waiting, so the search
+    // stops too, including the subtrees parallel DLX runs on its own workers
+    public <T> T call(Deadline deadline, Supplier<T> task) {
+        Future<T> future = submit(task::get);
+        try {
+            return await(future);
+        } finally {
+            if (future.isCancelled()) {
+                deadline.cancel();
+            }
+        }
+    }
+
+    // Queue the task without waiting for it, for requests that keep several boards in flight
+    public <T> Future<T> submit(Callable<T> task) {
+        try {
+            return pool.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new SolveRejectedException(queueCapacity);
+        }
+    }
+
+    // Executor view of submit for completion services; also throws SolveRejectedException when full
+    public void execute(Runnable task) {
+        submit(Executors.callable(task));
+    }
+
+    // Wait for a submitted task; exceptions thrown by the task are rethrown as they are
+    public <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a solver", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Solving failed", e.getCause());
+        }
+    }
+
+    // True when a new request would be turned away right now
+    public boolean isSaturated() {
+        return pool.getQueue().remainingCapacity() == 0 && pool.getActiveCount() >= threads;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
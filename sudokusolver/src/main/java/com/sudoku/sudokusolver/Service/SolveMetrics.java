@@ -0,0 +1,159 @@
+package com.sudoku.sudokusolver.Service;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Meters for the solve and generate paths. Every meter is registered up front so the hot path
+// only records into existing meters.
+public class SolveMetrics {
+
+    private static final int BRANCH_BUCKETS = 5;
+
+    private final Map<Engine, Map<SolveStatus, Timer>> solveTimers = new EnumMap<>(Engine.class);
+    private final Map<SolveStatus, Counter> boards = new EnumMap<>(SolveStatus.class);
+    // Search counters of solves and of solution counts, kept apart so counts do not skew the solve distributions
+    private final Map<Engine, SearchMeters> solveSearch = new EnumMap<>(Engine.class);
+    private final Map<Engine, SearchMeters> countSearch = new EnumMap<>(Engine.class);
+    private final Timer generateTimer;
+    private final Timer countTimer;
+
+    public SolveMetrics(MeterRegistry registry) {
+        for (Engine engine : Engine.values()) {
+            Map<SolveStatus, Timer> timers = new EnumMap<>(SolveStatus.class);
+            for (SolveStatus status : SolveStatus.values()) {
+                if (status == SolveStatus.INVALID || status == SolveStatus.ERROR) {
+                    continue; // invalid boards never reach an engine, failed solves have no meaningful time
+                }
+                timers.put(status, Timer.builder("sudoku.solve")
+                        .description("Time spent solving one board")
+                        .tag("engine", tagValue(engine))
+                        .tag("outcome", tagValue(status))
+                        .register(registry));
+            }
+            solveTimers.put(engine, timers);
+            solveSearch.put(engine, new SearchMeters(registry, engine, "solve"));
+        }
+        // Only DLX counts solutions
+        countSearch.put(Engine.DLX, new SearchMeters(registry, Engine.DLX, "count"));
+        countSearch.put(Engine.DLX_PARALLEL, new SearchMeters(registry, Engine.DLX_PARALLEL, "count"));
+        for (SolveStatus status : SolveStatus.values()) {
+            boards.put(status, Counter.builder("sudoku.boards")
+                    .description("Boards submitted for solving, by outcome")
+                    .tag("outcome", tagValue(status))
+                    .register(registry));
+        }
+        generateTimer = Timer.builder("sudoku.generate")
+                .description("Time spent generating a new puzzle")
+                .register(registry);
+        countTimer = Timer.builder("sudoku.count")
+                .description("Time spent counting the solutions of one board")
+                .register(registry);
+    }
+
+    public void recordSolve(Engine engine, SolveStatus status, long nanos) {
+        solveTimers.get(engine).get(status).record(nanos, TimeUnit.NANOSECONDS);
+        boards.get(status).increment();
+    }
+
+    // A board answered from the solution cache without reaching an engine
+    public void recordCached(SolveStatus status) {
+        boards.get(status).increment();
+    }
+
+    public void recordInvalid() {
+        boards.get(SolveStatus.INVALID).increment();
+    }
+
+    // A solve that threw instead of returning an outcome
+    public void recordError() {
+        boards.get(SolveStatus.ERROR).increment();
+    }
+
+    // Counters of one engine run, as far as it got
+    public void recordSearch(Engine engine, SearchStats stats) {
+        solveSearch.get(engine).record(stats);
+    }
+
+    // Counters of one solution count, with DLX or parallel DLX
+    public void recordCountSearch(Engine engine, SearchStats stats) {
+        countSearch.get(engine).record(stats);
+    }
+
+    public void recordGenerate(long nanos) {
+        generateTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordCount(long nanos) {
+        countTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // The sudoku.search.* meters of one engine and operation
+    private static final class SearchMeters {
+
+        private final DistributionSummary nodes;
+        private final DistributionSummary backtracks;
+        private final DistributionSummary depth;
+        private final DistributionSummary covers;
+        private final DistributionSummary uncovers;
+        // Branching decisions by the choices left: 0 (dead end), 1 (forced), 2, 3 and 4 or more
+        private final Counter[] branches = new Counter[BRANCH_BUCKETS];
+
+        SearchMeters(MeterRegistry registry, Engine engine, String op) {
+            nodes = summary(registry, "sudoku.search.nodes", "Search nodes visited per run", engine, op);
+            backtracks = summary(registry, "sudoku.search.backtracks", "Candidates tried and undone per run", engine, op);
+            depth = summary(registry, "sudoku.search.depth", "Deepest search level reached per run", engine, op);
+            covers = summary(registry, "sudoku.search.covers", "Exact-cover columns covered per run", engine, op);
+            uncovers = summary(registry, "sudoku.search.uncovers", "Exact-cover columns uncovered per run", engine, op);
+            for (int choices = 0; choices < BRANCH_BUCKETS; choices++) {
+                branches[choices] = Counter.builder("sudoku.search.branches")
+                        .description("Branching decisions by the number of choices left")
+                        .tag("engine", tagValue(engine))
+                        .tag("op", op)
+                        .tag("choices", choices == BRANCH_BUCKETS - 1 ? choices + "+" : String.valueOf(choices))
+                        .register(registry);
+            }
+        }
+
+        void record(SearchStats stats) {
+            nodes.record(stats.getNodes());
+            backtracks.record(stats.getBacktracks());
+            if (stats.getMaxDepth() != null) {
+                depth.record(stats.getMaxDepth());
+            }
+            if (stats.getCovers() != null) {
+                covers.record(stats.getCovers());
+            }
+            if (stats.getUncovers() != null) {
+                uncovers.record(stats.getUncovers());
+            }
+            long[] branching = stats.getBranching();
+            if (branching != null) {
+                for (int choices = 0; choices < branching.length; choices++) {
+                    if (branching[choices] > 0) {
+                        branches[Math.min(choices, BRANCH_BUCKETS - 1)].increment(branching[choices]);
+                    }
+                }
+            }
+        }
+
+        private static DistributionSummary summary(MeterRegistry registry, String name, String description,
+                Engine engine, String op) {
+            return DistributionSummary.builder(name)
+                    .description(description)
+                    .tag("engine", tagValue(engine))
+                    .tag("op", op)
+                    .register(registry);
+        }
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
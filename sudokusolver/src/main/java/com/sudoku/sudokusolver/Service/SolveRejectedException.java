@@ -0,0 +1,9 @@
+package com.sudoku.sudokusolver.Service;
+
+// Thrown when every solver thread is busy and the admission queue is full
+public class SolveRejectedException extends RuntimeException {
+
+    public SolveRejectedException(int queued) {
+        super("All solver threads are busy and " + queued + " requests are already waiting");
+    }
+}
@@ -0,0 +1,12 @@
+package com.sudoku.sudokusolver.Service;
+
+// Outcome of a single solve
+public enum SolveStatus {
+    SOLVED,
+    UNSOLVABLE,
+    INVALID,
+    // The deadline expired before the search finished
+    TIMEOUT,
+    // The server failed while solving; says nothing about the board
+    ERROR
+}
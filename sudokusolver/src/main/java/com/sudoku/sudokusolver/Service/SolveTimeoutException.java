@@ -0,0 +1,17 @@
+package com.sudoku.sudokusolver.Service;
+
+// Thrown out of an engine's search when its Deadline has expired or was cancelled
+public class SolveTimeoutException extends RuntimeException {
+
+    // Search nodes visited before the engine gave up
+    private final long nodes;
+
+    public SolveTimeoutException(long nodes) {
+        super("Solve timed out after " + nodes + " search nodes");
+        this.nodes = nodes;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+}
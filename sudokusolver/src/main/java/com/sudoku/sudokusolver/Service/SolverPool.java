@@ -0,0 +1,55 @@
+package com.sudoku.sudokusolver.Service;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Lock-free pool of solver instances that keep mutable search state.
+// A thread checks a solver out for the duration of one solve and returns it afterwards;
+// when the pool is empty a fresh solver is created, and at most maxIdle solvers are retained.
+public class SolverPool<T> {
+
+    private final ConcurrentLinkedQueue<T> idle = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final Supplier<T> factory;
+    private final int maxIdle;
+
+    public SolverPool(Supplier<T> factory, int maxIdle) {
+        this.factory = factory;
+        this.maxIdle = maxIdle;
+    }
+
+    // Take an idle solver, or build a new one if none is available
+    public T checkout() {
+        T solver = idle.poll();
+        if (solver == null) {
+            return factory.get();
+        }
+        idleCount.decrementAndGet();
+        return solver;
+    }
+
+    // Give a solver back; it is dropped if the pool already holds maxIdle solvers
+    public void release(T solver) {
+        if (idleCount.incrementAndGet() <= maxIdle) {
+            idle.offer(solver);
+        } else {
+            idleCount.decrementAndGet();
+        }
+    }
+
+    // Run one task with a checked-out solver and always return it
+    public <R> R with(Function<T, R> task) {
+        T solver = checkout();
+        try {
+            return task.apply(solver);
+        } finally {
+            release(solver);
+        }
+    }
+
+    public int idleCount() {
+        return idleCount.get();
+    }
+}
@@ -0,0 +1,79 @@
+package com.sudoku.sudokusolver.Service;
+
+// Unit families that need no description beyond the board size
+public enum StandardConstraint implements Constraint {
+    ROW {
+        @Override
+        public int unit(int size, int row, int col) {
+            return row;
+        }
+
+        @Override
+        public String unitName(int size, int unit) {
+            return "row " + (unit + 1);
+        }
+    },
+    COLUMN {
+        @Override
+        public int unit(int size, int row, int col) {
+            return col;
+        }
+
+        @Override
+        public String unitName(int size, int unit) {
+            return "column " + (unit + 1);
+        }
+    },
+    // The sqrt(size) x sqrt(size) boxes of classic Sudoku
+    BOX {
+        @Override
+        public int unit(int size, int row, int col) {
+            int box = (int) Math.sqrt(size);
+            return (row / box) * box + col / box;
+        }
+
+        @Override
+        public String unitName(int size, int unit) {
+            return "box " + (unit + 1);
+        }
+    },
+    // X-Sudoku: the diagonal from the top left corner also holds every digit once
+    DIAGONAL {
+        @Override
+        public int unitCount(int size) {
+            return 1;
+        }
+
+        @Override
+        public int unit(int size, int row, int col) {
+            return row == col ? 0 : -1;
+        }
+
+        @Override
+        public String unitName(int size, int unit) {
+            return "the main diagonal";
+        }
+    },
+    // X-Sudoku: and so does the diagonal from the top right corner
+    ANTI_DIAGONAL {
+        @Override
+        public int unitCount(int size) {
+            return 1;
+        }
+
+        @Override
+        public int unit(int size, int row, int col) {
+            return row + col == size - 1 ? 0 : -1;
+        }
+
+        @Override
+        public String unitName(int size, int unit) {
+            return "the anti-diagonal";
+        }
+    };
+
+    @Override
+    public int unitCount(int size) {
+        return size;
+    }
+}
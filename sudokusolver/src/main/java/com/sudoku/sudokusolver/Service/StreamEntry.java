@@ -0,0 +1,62 @@
+package com.sudoku.sudokusolver.Service;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// One NDJSON line of the streaming solver; index is the position of the puzzle in the input
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StreamEntry {
+    private long index;
+    private SolveStatus status;
+    private String solution;
+    private String message;
+    private String duration;
+
+    public StreamEntry(long index, SolveStatus status, String solution, String message, String duration) {
+        this.index = index;
+        this.status = status;
+        this.solution = solution;
+        this.message = message;
+        this.duration = duration;
+    }
+
+    // Getters and Setters
+    public long getIndex() {
+        return index;
+    }
+
+    public void setIndex(long index) {
+        this.index = index;
+    }
+
+    public SolveStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(SolveStatus status) {
+        this.status = status;
+    }
+
+    public String getSolution() {
+        return solution;
+    }
+
+    public void setSolution(String solution) {
+        this.solution = solution;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getDuration() {
+        return duration;
+    }
+
+    public void setDuration(String duration) {
+        this.duration = duration;
+    }
+}
@@ -0,0 +1,15 @@
+package com.sudoku.sudokusolver.Service;
+
+import java.util.Locale;
+
+// Output formats of the streaming solver
+public enum StreamFormat {
+    // One JSON object per line with index, status, solution and duration
+    NDJSON,
+    // One "puzzle,solution" line per input, with the status name in place of a missing solution
+    LINE;
+
+    public static StreamFormat fromName(String name) {
+        return StreamFormat.valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
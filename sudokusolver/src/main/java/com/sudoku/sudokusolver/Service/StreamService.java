@@ -0,0 +1,204 @@
+package com.sudoku.sudokusolver.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Solves puzzles read one line at a time and writes each answer as soon as it is available.
+// At most maxInFlight puzzles of a stream are queued or being solved at once, so heap use
+// stays constant no matter how large the input is. Puzzles run on the solver threads of
+// SolveExecutor; when its queue is full the stream waits for its own puzzles instead of failing,
+// since the response has already started.
+@Service
+public class StreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(StreamService.class);
+
+    // Pause before offering a puzzle again when the executor is full and none of the stream's own are in flight
+    private static final long BUSY_WAIT_MS = 10;
+
+    private final SudokuService service;
+    private final SolveExecutor executor;
+    private final int maxInFlight;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public StreamService(SudokuService service, SolveExecutor executor,
+                         @Value("${sudoku.stream.max-in-flight:0}") int maxInFlight) {
+        this.service = service;
+        this.executor = executor;
+        this.maxInFlight = maxInFlight > 0 ? maxInFlight : executor.getThreads();
+    }
+
+    // Solve every puzzle line of in and write one output line per puzzle; returns the number of puzzles
+    public long solve(Reader in, Writer out, StreamFormat format, boolean ordered) throws IOException {
+        BufferedReader reader = in instanceof BufferedReader buffered ? buffered : new BufferedReader(in);
+        long count = ordered ? solveOrdered(reader, out, format) : solveUnordered(reader, out, format);
+        out.flush();
+        return count;
+    }
+
+    // Answers are written in input order; the reader waits on the oldest puzzle when the window is full
+    private long solveOrdered(BufferedReader reader, Writer out, StreamFormat format) throws IOException {
+        ArrayDeque<Future<String>> window = new ArrayDeque<>(maxInFlight);
+        long index = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            if (window.size() == maxInFlight) {
+                out.write(await(window.poll()));
+            }
+            Callable<String> task = solveTask(index++, line, format);
+            while (true) {
+                try {
+                    window.add(executor.submit(task));
+                    break;
+                } catch (SolveRejectedException e) {
+                    // Make room by finishing the oldest puzzle of this stream, or give other requests a moment
+                    if (window.isEmpty()) {
+                        pause();
+                    } else {
+                        out.write(await(window.poll()));
+                    }
+                }
+            }
+            while (!window.isEmpty() && window.peek().isDone()) {
+                out.write(await(window.poll()));
+            }
+        }
+        while (!window.isEmpty()) {
+            out.write(await(window.poll()));
+        }
+        return index;
+    }
+
+    // Answers are written as they complete; the reader waits on any puzzle when the window is full
+    private long solveUnordered(BufferedReader reader, Writer out, StreamFormat format) throws IOException {
+        CompletionService<String> completion = new ExecutorCompletionService<>(executor::execute);
+        int inFlight = 0;
+        long index = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            if (inFlight == maxInFlight) {
+                out.write(await(take(completion)));
+                inFlight--;
+            }
+            Callable<String> task = solveTask(index++, line, format);
+            while (true) {
+                try {
+                    completion.submit(task);
+                    break;
+                } catch (SolveRejectedException e) {
+                    if (inFlight == 0) {
+                        pause();
+                    } else {
+                        out.write(await(take(completion)));
+                        inFlight--;
+                    }
+                }
+            }
+            inFlight++;
+            Future<String> done;
+            while ((done = completion.poll()) != null) {
+                out.write(await(done));
+                inFlight--;
+            }
+        }
+        while (inFlight > 0) {
+            out.write(await(take(completion)));
+            inFlight--;
+        }
+        return index;
+    }
+
+    private static void pause() throws IOException {
+        try {
+            Thread.sleep(BUSY_WAIT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a solver", e);
+        }
+    }
+
+    private Callable<String> solveTask(long index, String line, StreamFormat format) {
+        return () -> {
+            String puzzle = line.trim();
+            int[][] board;
+            try {
+                board = parse(puzzle);
+                puzzle = SudokuFormat.toLine(board);
+            } catch (IllegalArgumentException | IOException e) {
+                return render(index, puzzle, service.invalid("Invalid configuration: " + e.getMessage()), format);
+            }
+            SudokuResult result;
+            try {
+                result = service.solve(Engine.DLX, board);
+            } catch (RuntimeException e) {
+                // One failing puzzle gets its own error line, the rest of the stream goes on
+                log.error("Solving stream line {} ({}) failed", index, puzzle, e);
+                result = service.failed();
+            }
+            return render(index, puzzle, result, format);
+        };
+    }
+
+    // Input lines are either 81-character puzzles (optionally followed by ",solution") or JSON boards
+    private int[][] parse(String puzzle) throws IOException {
+        if (puzzle.startsWith("[")) {
+            int[][] board = objectMapper.readValue(puzzle, int[][].class);
+            if (!SudokuFormat.isWellFormed(board, 9)) {
+                throw new IllegalArgumentException("Expected a 9x9 board with values 0-9");
+            }
+            return board;
+        }
+        int comma = puzzle.indexOf(',');
+        return SudokuFormat.parseLine(comma < 0 ? puzzle : puzzle.substring(0, comma));
+    }
+
+    private String render(long index, String puzzle, SudokuResult result, StreamFormat format) throws IOException {
+        String solution = result.getStatus() == SolveStatus.SOLVED ? SudokuFormat.toLine(result.getBoard()) : null;
+        if (format == StreamFormat.LINE) {
+            return puzzle + ',' + (solution != null ? solution : result.getStatus().name()) + '\n';
+        }
+        StreamEntry entry = new StreamEntry(index, result.getStatus(), solution, result.getMessage(), result.getDuration());
+        return objectMapper.writeValueAsString(entry) + '\n';
+    }
+
+    private static Future<String> take(CompletionService<String> completion) throws IOException {
+        try {
+            return completion.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a solution", e);
+        }
+    }
+
+    private static String await(Future<String> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a solution", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Solving failed", e.getCause());
+        }
+    }
+}
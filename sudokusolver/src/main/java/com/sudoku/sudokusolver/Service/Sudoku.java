@@ -0,0 +1,192 @@
+package com.sudoku.sudokusolver.Service;
+
+// Sudoku generator class
+class Sudoku {
+    private int[][] mat;
+    private final int N; // number of columns/rows
+    private final int SRN; // square root of N
+    private final int K; // Number of missing digits
+
+    // Constructor
+    Sudoku(int N, int K) {
+        this.N = N;
+        this.K = K;
+        this.SRN = (int) Math.sqrt(N);
+        this.mat = new int[N][N];
+    }
+
+    // Sudoku Generator
+    public void fillValues() {
+        if (N <= 9) {
+            // Fill the diagonal of SRN x SRN matrices
+            fillDiagonal();
+
+            // Fill remaining blocks
+            fillRemaining(0, SRN);
+        } else {
+            // Backtracking over the remaining blocks blows up from 16x16 on, shuffle a valid pattern instead
+            fillShuffledPattern();
+        }
+
+        // Remove Randomly K digits to make game
+        removeKDigits();
+    }
+
+    // Fill with a valid base pattern, then apply random digit, row, column, band and stack permutations
+    private void fillShuffledPattern() {
+        int[] rows = shuffledLines();
+        int[] cols = shuffledLines();
+        int[] digits = shuffledOrder(N);
+        for (int i = 0; i < N; i++) {
+            for (int j = 0; j < N; j++) {
+                int r = rows[i];
+                int c = cols[j];
+                int pattern = (SRN * (r % SRN) + r / SRN + c) % N;
+                mat[i][j] = digits[pattern] + 1;
+            }
+        }
+    }
+
+    // Line order that permutes the bands and the lines inside every band
+    private int[] shuffledLines() {
+        int[] bands = shuffledOrder(SRN);
+        int[] lines = new int[N];
+        for (int b = 0; b < SRN; b++) {
+            int[] inner = shuffledOrder(SRN);
+            for (int k = 0; k < SRN; k++) {
+                lines[b * SRN + k] = bands[b] * SRN + inner[k];
+            }
+        }
+        return lines;
+    }
+
+    // Random permutation of 0..n-1
+    private int[] shuffledOrder(int n) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = randomGenerator(i + 1) - 1;
+            int temp = order[i];
+            order[i] = order[j];
+            order[j] = temp;
+        }
+        return order;
+    }
+
+    // Fill the diagonal SRN number of SRN x SRN matrices
+    private void fillDiagonal() {
+        for (int i = 0; i < N; i = i + SRN) {
+            // for diagonal box, start coordinates->i==j
+            fillBox(i, i);
+        }
+    }
+
+    // Returns false if given SRN x SRN block contains num
+    private boolean unUsedInBox(int rowStart, int colStart, int num) {
+        for (int i = 0; i < SRN; i++)
+            for (int j = 0; j < SRN; j++)
+                if (mat[rowStart + i][colStart + j] == num)
+                    return false;
+        return true;
+    }
+
+    // Fill a SRN x SRN matrix
+    private void fillBox(int row, int col) {
+        int num;
+        for (int i = 0; i < SRN; i++) {
+            for (int j = 0; j < SRN; j++) {
+                do {
+                    num = randomGenerator(N);
+                } while (!unUsedInBox(row, col, num));
+                mat[row + i][col + j] = num;
+            }
+        }
+    }
+
+    // Random generator
+    private int randomGenerator(int num) {
+        return (int) Math.floor((Math.random() * num + 1));
+    }
+
+    // Check if safe to put in cell
+    private boolean checkIfSafe(int i, int j, int num) {
+        return (unUsedInRow(i, num) &&
+                unUsedInCol(j, num) &&
+                unUsedInBox(i - i % SRN, j - j % SRN, num));
+    }
+
+    // Check in the row for existence
+    private boolean unUsedInRow(int i, int num) {
+        for (int j = 0; j < N; j++)
+            if (mat[i][j] == num)
+                return false;
+        return true;
+    }
+
+    // Check in the column for existence
+    private boolean unUsedInCol(int j, int num) {
+        for (int i = 0; i < N; i++)
+            if (mat[i][j] == num)
+                return false;
+        return true;
+    }
+
+    // A recursive function to fill remaining matrix
+    private boolean fillRemaining(int i, int j) {
+        if (j >= N && i < N - 1) {
+            i = i + 1;
+            j = 0;
+        }
+        if (i >= N && j >= N)
+            return true;
+
+        if (i < SRN) {
+            if (j < SRN)
+                j = SRN;
+        } else if (i < N - SRN) {
+            if (j == (int) (i / SRN) * SRN)
+                j = j + SRN;
+        } else {
+            if (j == N - SRN) {
+                i = i + 1;
+                j = 0;
+                if (i >= N)
+                    return true;
+            }
+        }
+
+        for (int num = 1; num <= N; num++) {
+            if (checkIfSafe(i, j, num)) {
+                mat[i][j] = num;
+                if (fillRemaining(i, j + 1))
+                    return true;
+                mat[i][j] = 0;
+            }
+        }
+        return false;
+    }
+
+    // Remove K number of digits to complete game
+    private void removeKDigits() {
+        int count = K;
+        while (count != 0) {
+            int cellId = randomGenerator(N * N) - 1;
+
+            // Extract coordinates i and j
+            int i = (cellId / N);
+            int j = cellId % N;
+
+            if (mat[i][j] != 0) {
+                count--;
+                mat[i][j] = 0;
+            }
+        }
+    }
+
+    // Get the Sudoku matrix
+    public int[][] getMat() {
+        return mat;
+    }
+}
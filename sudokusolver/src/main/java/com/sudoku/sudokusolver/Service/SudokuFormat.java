@@ -0,0 +1,118 @@
+package com.sudoku.sudokusolver.Service;
+
+// Conversions between boards and the one-puzzle-per-line 81-character format,
+// where cells are listed row by row and 0 or '.' marks an empty cell, and the packed 4-bit form
+public final class SudokuFormat {
+
+    private static final int SIZE = 9;
+    private static final int CELLS = SIZE * SIZE;
+
+    private SudokuFormat() {
+    }
+
+    // Parse an 81-character line into a board
+    public static int[][] parseLine(CharSequence line) {
+        if (line.length() != CELLS) {
+            throw new IllegalArgumentException("Expected " + CELLS + " characters but got " + line.length());
+        }
+        int[][] board = new int[SIZE][SIZE];
+        for (int i = 0; i < CELLS; i++) {
+            char c = line.charAt(i);
+            if (c >= '1' && c <= '9') {
+                board[i / SIZE][i % SIZE] = c - '0';
+            } else if (c != '0' && c != '.') {
+                throw new IllegalArgumentException("Invalid character '" + c + "' at position " + i);
+            }
+        }
+        return board;
+    }
+
+    // Write a 9x9 board as an 81-character line, using '.' for empty cells
+    public static String toLine(int[][] board) {
+        StringBuilder line = new StringBuilder(CELLS);
+        for (int i = 0; i < SIZE; i++) {
+            for (int j = 0; j < SIZE; j++) {
+                int value = board[i][j];
+                line.append(value == 0 ? '.' : (char) ('0' + value));
+            }
+        }
+        return line.toString();
+    }
+
+    // Pack a 9x9 board into 41 bytes, two cells per byte with the first cell in the high nibble
+    public static byte[] pack(int[][] board) {
+        byte[] packed = new byte[(CELLS + 1) / 2];
+        for (int i = 0; i < CELLS; i++) {
+            int value = board[i / SIZE][i % SIZE];
+            packed[i >> 1] |= (byte) ((i & 1) == 0 ? value << 4 : value);
+        }
+        return packed;
+    }
+
+    // Unpack a board written by pack into grid
+    public static void unpack(byte[] packed, int[][] grid) {
+        for (int i = 0; i < CELLS; i++) {
+            int b = packed[i >> 1];
+            grid[i / SIZE][i % SIZE] = (i & 1) == 0 ? (b >> 4) & 0xF : b & 0xF;
+        }
+    }
+
+    // Parse an 81-character ASCII line straight into a flat board
+    public static Board parseLine(byte[] ascii, int length) {
+        if (length != CELLS) {
+            throw new IllegalArgumentException("Expected " + CELLS + " characters but got " + length);
+        }
+        byte[] cells = new byte[CELLS];
+        for (int i = 0; i < CELLS; i++) {
+            byte c = ascii[i];
+            if (c >= '1' && c <= '9') {
+                cells[i] = (byte) (c - '0');
+            } else if (c != '0' && c != '.') {
+                throw new IllegalArgumentException("Invalid character '" + (char) (c & 0xFF) + "' at position " + i);
+            }
+        }
+        return new Board(SIZE, cells);
+    }
+
+    // Unpack 41 bytes written by pack straight into a flat board
+    public static Board unpack(byte[] packed) {
+        if (packed.length != (CELLS + 1) / 2) {
+            throw new IllegalArgumentException("Expected " + (CELLS + 1) / 2 + " bytes but got " + packed.length);
+        }
+        byte[] cells = new byte[CELLS];
+        for (int i = 0; i < CELLS; i++) {
+            int b = packed[i >> 1];
+            cells[i] = (byte) ((i & 1) == 0 ? (b >> 4) & 0xF : b & 0xF);
+        }
+        return new Board(SIZE, cells);
+    }
+
+    // Board sizes the engines support: perfect squares from 4x4 to 25x25
+    public static boolean isSupportedSize(int size) {
+        int box = (int) Math.sqrt(size);
+        return box * box == size && box >= 2 && box <= 5;
+    }
+
+    // Check that a board is square with a supported size and values in 0..size
+    public static boolean isWellFormed(int[][] board) {
+        return board != null && isWellFormed(board, board.length);
+    }
+
+    // Check that a board is size x size with values in 0..size
+    public static boolean isWellFormed(int[][] board, int size) {
+        if (board == null || board.length != size || !isSupportedSize(size)) {
+            return false;
+        }
+        for (int[] row : board) {
+            if (row == null || row.length != size) {
+                return false;
+            }
+            for (int value : row) {
+                if (value < 0 || value > size) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
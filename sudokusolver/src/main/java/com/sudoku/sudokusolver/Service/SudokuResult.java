@@ -7,11 +7,19 @@ public class SudokuResult {
     private int[][] board;
     private String message;
     private String duration;
+    private SolveStatus status;
+    // Search nodes visited, only reported when the solve timed out
+    private Long nodes;
+    // Engine the board was routed to, absent for invalid boards and answers from the cache or store
+    private Engine engine;
+    // Counters of the engine's search, only when asked for and an engine ran
+    private SearchStats stats;
 
-    public SudokuResult(int[][] board, String message, String duration) {
+    public SudokuResult(int[][] board, String message, String duration, SolveStatus status) {
         this.board = board;
         this.message = message;
         this.duration = duration;
+        this.status = status;
     }
 
     // Getters and Setters
@@ -38,4 +46,36 @@ public class SudokuResult {
     public void setDuration(String duration) {
         this.duration = duration;
     }
+
+    public SolveStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(SolveStatus status) {
+        this.status = status;
+    }
+
+    public Long getNodes() {
+        return nodes;
+    }
+
+    public void setNodes(Long nodes) {
+        this.nodes = nodes;
+    }
+
+    public Engine getEngine() {
+        return engine;
+    }
+
+    public void setEngine(Engine engine) {
+        this.engine = engine;
+    }
+
+    public SearchStats getStats() {
+        return stats;
+    }
+
+    public void setStats(SearchStats stats) {
+        this.stats = stats;
+    }
 }
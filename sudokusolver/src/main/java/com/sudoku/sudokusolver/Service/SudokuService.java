@@ -2,211 +2,525 @@ package com.sudoku.sudokusolver.Service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import jakarta.annotation.PreDestroy;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
 @Service
 public class SudokuService {
 
-    private static final int N = 9; // Size of Sudoku board
-    private static final int K = 40; // Number of cells to be left blank
+    private static final Logger log = LoggerFactory.getLogger(SudokuService.class);
+
+    private static final int N = 9; // Default size of Sudoku board
+    private static final int K = 40; // Number of cells to be left blank on a 9x9 board
+    private static final int MAX_IDLE_SOLVERS = Runtime.getRuntime().availableProcessors() * 2;
+    // Variant matrices and their pooled solvers are kept up to this many bytes of link arrays
+    static final long MAX_VARIANT_BYTES = 64L << 20;
+    private static final long DEFAULT_GENERATE_BUDGET_MS = 100;
+    private static final long DEFAULT_SOLVE_TIMEOUT_MS = 2000;
     private ObjectMapper objectMapper = new ObjectMapper();
-    DLX solverDLX = new DLX();
-    Backtracking solverBT = new Backtracking();
+    // DLX keeps its links in instance arrays, so every request thread checks out its own copy, one pool per board size
+    private final Map<Integer, SolverPool<DLX>> poolsDLX = new ConcurrentHashMap<>();
+    // Bitmask keeps its masks and saved search levels in instance arrays as well
+    private final Map<Integer, SolverPool<Bitmask>> poolsBitmask = new ConcurrentHashMap<>();
+    // Parallel DLX checks its subtree solvers out of the same per-size pools. Its subtrees run on a pool of
+    // their own, so all parallel requests together never keep more than its workers busy.
+    private final ForkJoinPool parallelPool;
+    private final ParallelDLX parallelDLX;
+    // The logical solver keeps its candidate grid and step statistics in instance arrays too
+    private final Map<Integer, SolverPool<LogicSolver>> poolsLogic = new ConcurrentHashMap<>();
+    // Variants are described by clients, so only the most recently used ones keep their matrix and pool.
+    // They are weighed by what a full pool would hold: a 25x25 variant costs as much as dozens of 9x9 ones.
+    private final Cache<ConstraintSet, VariantPool> poolsVariant = Caffeine.newBuilder()
+            .maximumWeight(MAX_VARIANT_BYTES)
+            .weigher((ConstraintSet constraints, VariantPool pool) -> pool.weight())
+            .build();
+    // Backtracking keeps the node count and deadline of its current solve
+    private final SolverPool<Backtracking> poolBT = new SolverPool<>(Backtracking::new, MAX_IDLE_SOLVERS);
+    // Unique-puzzle generators keep a DLX counter each
+    private final SolverPool<PuzzleGenerator> poolGenerator = new SolverPool<>(PuzzleGenerator::new, MAX_IDLE_SOLVERS);
+    private final SolveMetrics metrics;
+    private final SolutionCache cache;
+    private final SolutionStore store;
+    private final long generateBudgetNanos;
+    private final long solveTimeoutNanos;
+
+    // Standalone use (command line, tests) keeps metrics in a local registry and does not cache
+    public SudokuService() {
+        this(new SimpleMeterRegistry(), SolutionCache.disabled());
+    }
+
+    public SudokuService(MeterRegistry registry, SolutionCache cache) {
+        this(registry, cache, SolutionStore.disabled(), DEFAULT_GENERATE_BUDGET_MS, DEFAULT_SOLVE_TIMEOUT_MS);
+    }
+
+    public SudokuService(MeterRegistry registry, SolutionCache cache, SolutionStore store,
+                         long generateBudgetMs, long solveTimeoutMs) {
+        this(registry, cache, store, generateBudgetMs, solveTimeoutMs, 0);
+    }
+
+    @Autowired
+    public SudokuService(MeterRegistry registry, SolutionCache cache, SolutionStore store,
+                         @Value("${sudoku.generate.budget-ms:100}") long generateBudgetMs,
+                         @Value("${sudoku.solve.timeout-ms:2000}") long solveTimeoutMs,
+                         @Value("${sudoku.solve.parallel-threads:0}") int parallelThreads) {
+        this.parallelPool = new ForkJoinPool(parallelThreads > 0 ? parallelThreads : Runtime.getRuntime().availableProcessors());
+        this.parallelDLX = new ParallelDLX(parallelPool, this::poolDLX);
+        this.metrics = new SolveMetrics(registry);
+        this.cache = cache;
+        this.store = store;
+        this.generateBudgetNanos = TimeUnit.MILLISECONDS.toNanos(generateBudgetMs);
+        this.solveTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(solveTimeoutMs);
+    }
 
     public String newConfiguration() {
-        Sudoku sudoku = new Sudoku(N, K);
+        return newConfiguration(N);
+    }
+
+    // New puzzle of size x size, blanking the same share of cells as the 9x9 default
+    public String newConfiguration(int size) {
+        if (!SudokuFormat.isSupportedSize(size)) {
+            throw new IllegalArgumentException("Unsupported board size " + size);
+        }
+        long startTime = System.nanoTime();
+        Sudoku sudoku = new Sudoku(size, Math.round((float) size * size * K / (N * N)));
         sudoku.fillValues();
+        metrics.recordGenerate(System.nanoTime() - startTime);
         return convertBoardToJson(sudoku.getMat());
     }
 
-    public String solveSudokuDLX(int[][] board) {
-        long startTime = System.currentTimeMillis();
-        boolean valid = solverDLX.solveSudoku(board);
-        long endTime = System.currentTimeMillis();
-        long duration = endTime - startTime;
-        String durationStr = String.valueOf(duration);
-        System.out.println("DLX : " + duration);
-        String message = valid ? null : "No solution exists for this Sudoku configuration.";
-    
-        SudokuResult result = new SudokuResult(board, message, durationStr);
+    public String newUniqueConfiguration(Difficulty difficulty, Integer clues) {
         try {
-            // Convert the result to JSON format
-            return objectMapper.writeValueAsString(result);
+            return objectMapper.writeValueAsString(generateUnique(difficulty, clues));
         } catch (JsonProcessingException e) {
             e.printStackTrace();
             return "{\"error\": \"Error processing JSON\"}";
         }
     }
 
-    public String solveSudokuBT(int[][] board) {
-        long startTime = System.currentTimeMillis();
-        boolean valid = solverBT.solveSudoku(board);
-        long endTime = System.currentTimeMillis();
-        long duration = endTime - startTime;
-        System.out.println("backtracking : " + duration);
-        String durationStr = String.valueOf(duration);
-        String message = valid ? null : "No solution exists for this Sudoku configuration.";
-        SudokuResult result = new SudokuResult(board, message, durationStr);
-        try {
-            // Convert the result to JSON format
-            return objectMapper.writeValueAsString(result);
-        } catch (JsonProcessingException e) {
-            e.printStackTrace();
-            return "{\"error\": \"Error processing JSON\"}";
+    // New 9x9 puzzle with exactly one solution, dug to an exact clue count or into a difficulty band.
+    // When the budget runs out first, the puzzle is still unique but keeps more clues.
+    public GeneratedPuzzle generateUnique(Difficulty difficulty, Integer clues) {
+        int minClues = clues != null ? clues : difficulty.getMinClues();
+        int maxClues = clues != null ? clues : difficulty.getMaxClues();
+        long startTime = System.nanoTime();
+        int[][] board = poolGenerator.with(generator -> generator.generate(minClues, maxClues, generateBudgetNanos));
+        long duration = System.nanoTime() - startTime;
+        metrics.recordGenerate(duration);
+        int given = 0;
+        for (int[] row : board) {
+            for (int value : row) {
+                if (value != 0) {
+                    given++;
+                }
+            }
         }
+        return new GeneratedPuzzle(board, given, Difficulty.ofClues(given), formatDuration(duration));
     }
 
-    // Method to convert the Sudoku board to JSON format
-    private String convertBoardToJson(int[][] board) {
-        ObjectMapper mapper = new ObjectMapper();
+    // Solve the board in place with the engine EngineSelector expects to be fastest for it
+    public SudokuResult solve(int[][] board) {
+        return solve(board, false);
+    }
+
+    public SudokuResult solve(int[][] board, boolean withStats) {
+        return solve(board, newDeadline(), withStats);
+    }
+
+    public SudokuResult solve(int[][] board, Deadline deadline, boolean withStats) {
+        return solve(EngineSelector.choose(board), board, deadline, withStats);
+    }
+
+    // Deadline of the configured solve timeout, starting now. Requests take it when they are admitted,
+    // so time spent waiting for a solver thread counts against the timeout.
+    public Deadline newDeadline() {
+        return Deadline.after(solveTimeoutNanos);
+    }
+
+    // Solve the board in place with the given engine within the configured timeout
+    public SudokuResult solve(Engine engine, int[][] board) {
+        return solve(engine, board, false);
+    }
+
+    // Same, with the counters of the engine's search in the result when withStats is set
+    public SudokuResult solve(Engine engine, int[][] board, boolean withStats) {
+        return solve(engine, board, newDeadline(), withStats);
+    }
+
+    public SudokuResult solve(Engine engine, int[][] board, Deadline deadline) {
+        return solve(engine, board, deadline, false);
+    }
+
+    public SudokuResult solve(Engine engine, int[][] board, Deadline deadline, boolean withStats) {
+        return solve(engine, null, board, deadline, withStats);
+    }
+
+    // Solve a board of a Sudoku variant in place, with DLX over the variant's constraint families.
+    // Plain boards take the usual route through the engine choice and the solution cache.
+    public SudokuResult solve(ConstraintSet variant, int[][] board, boolean withStats) {
+        return solve(variant, board, newDeadline(), withStats);
+    }
+
+    public SudokuResult solve(ConstraintSet variant, int[][] board, Deadline deadline, boolean withStats) {
+        if (variant.isClassic()) {
+            return solve(board, deadline, withStats);
+        }
+        return solve(Engine.DLX, variant, board, deadline, withStats);
+    }
+
+    // Solve the board in place with the given engine and report status and timing.
+    // When the deadline expires first the result is TIMEOUT with the search nodes reached, and no board.
+    // Boards that fail the pre-solve checks are answered INVALID or UNSOLVABLE without starting an engine.
+    // The search counters of every engine run go to the metrics, and to the result when withStats is set.
+    // Variant boards (variant not null) are validated against and solved over their own constraints.
+    private SudokuResult solve(Engine engine, ConstraintSet variant, int[][] board, Deadline deadline, boolean withStats) {
+        long startTime = System.nanoTime();
+        BoardValidator.Violation violation = variant == null ? BoardValidator.check(board) : BoardValidator.check(board, variant);
+        if (violation != null) {
+            if (violation.getStatus() == SolveStatus.INVALID) {
+                return invalid(violation.getMessage());
+            }
+            long duration = System.nanoTime() - startTime;
+            metrics.recordSolve(engine, SolveStatus.UNSOLVABLE, duration);
+            SudokuResult result = result(board, SolveStatus.UNSOLVABLE, duration);
+            result.setMessage(noSolution(violation));
+            result.setEngine(engine);
+            return result;
+        }
+        CanonicalForm form = null;
+        // Cache and store keys pack one cell per nibble, so only 9x9 boards are cached, and the canonical
+        // form relies on the symmetries of plain Sudoku, which variants do not have.
+        // The in-memory cache is asked first, then the on-disk store, which refills the cache on a hit.
+        if ((cache.isEnabled() || store.isEnabled()) && board.length == N && variant == null) {
+            form = cache.formOf(board);
+            SolveStatus cached = cache.isEnabled() ? cache.lookup(form, board) : null;
+            if (cached == null && store.isEnabled()) {
+                cached = store.lookup(form, board);
+                if (cached != null && cache.isEnabled()) {
+                    cache.store(form, cached, board);
+                }
+            }
+            if (cached != null) {
+                metrics.recordCached(cached);
+                return result(board, cached, System.nanoTime() - startTime);
+            }
+        }
+
+        SolveStatus status;
+        // Filled in even when the engine times out, so a slow solve shows how far the search got
+        SearchStats[] searched = new SearchStats[1];
         try {
-            return mapper.writeValueAsString(board);
-        } catch (JsonProcessingException e) {
-            e.printStackTrace();
-            return "{}";
+            boolean valid;
+            if (engine == Engine.DLX_PARALLEL) {
+                ParallelDLX.Search search = parallelDLX.solve(board, deadline);
+                searched[0] = new SearchStats(search.getNodeCount(), search.getBacktrackCount());
+                if (search.getSolutionCount() == 0 && search.isTimedOut()) {
+                    throw new SolveTimeoutException(search.getNodeCount());
+                }
+                valid = search.getSolutionCount() == 1;
+            } else {
+                SolverPool<? extends SudokuSolver> solvers = variant != null ? poolVariant(variant) : pool(engine, board.length);
+                valid = solvers.with(solver -> {
+                    try {
+                        // Checked above, the engine does not check the board again
+                        return solver.solveValidated(board, deadline);
+                    } finally {
+                        searched[0] = solver.getSearchStats();
+                    }
+                });
+            }
+            status = valid ? SolveStatus.SOLVED : SolveStatus.UNSOLVABLE;
+        } catch (SolveTimeoutException e) {
+            // The engine stopped mid-search, so the board holds a partial assignment and is not returned
+            long duration = System.nanoTime() - startTime;
+            metrics.recordSolve(engine, SolveStatus.TIMEOUT, duration);
+            SudokuResult result = new SudokuResult(null, "No solution found before the deadline.", formatDuration(duration),
+                    SolveStatus.TIMEOUT);
+            result.setNodes(e.getNodes());
+            result.setEngine(engine);
+            recordSearch(engine, searched[0], withStats, result);
+            return result;
         }
+        long duration = System.nanoTime() - startTime;
+        metrics.recordSolve(engine, status, duration);
+        if (form != null) {
+            if (cache.isEnabled()) {
+                cache.store(form, status, board);
+            }
+            if (store.isEnabled()) {
+                store.storeAsync(form, status, board);
+            }
+        }
+        // Solved grids are only rendered with logging.level.com.sudoku.sudokusolver.Service.SudokuService=DEBUG
+        if (status == SolveStatus.SOLVED && log.isDebugEnabled()) {
+            log.debug("{} solved:\n{}", engine, GridFormatter.format(board));
+        }
+        SudokuResult result = result(board, status, duration);
+        result.setEngine(engine);
+        recordSearch(engine, searched[0], withStats, result);
+        return result;
     }
-}
 
-// Sudoku generator class
-class Sudoku {
-    private int[][] mat;
-    private final int N; // number of columns/rows
-    private final int SRN; // square root of N
-    private final int K; // Number of missing digits
+    private void recordSearch(Engine engine, SearchStats stats, boolean withStats, SudokuResult result) {
+        if (stats == null) {
+            return;
+        }
+        metrics.recordSearch(engine, stats);
+        if (withStats) {
+            result.setStats(stats);
+        }
+    }
 
-    // Constructor
-    Sudoku(int N, int K) {
-        this.N = N;
-        this.K = K;
-        this.SRN = (int) Math.sqrt(N);
-        this.mat = new int[N][N];
+    // Pooled instances of a single-threaded engine for one board size
+    private SolverPool<? extends SudokuSolver> pool(Engine engine, int size) {
+        return switch (engine) {
+            case DLX -> poolDLX(size);
+            case BACKTRACKING -> poolBT;
+            case BITMASK -> poolBitmask(size);
+            case LOGIC -> poolLogic(size);
+            case DLX_PARALLEL -> throw new IllegalStateException("Parallel DLX shares the DLX pools");
+        };
     }
 
-    // Sudoku Generator
-    public void fillValues() {
-        // Fill the diagonal of SRN x SRN matrices
-        fillDiagonal();
+    public CountResult count(int[][] board, int limit) {
+        return count(board, limit, false);
+    }
 
-        // Fill remaining blocks
-        fillRemaining(0, SRN);
+    // Count solutions with DLX up to limit (2 answers the uniqueness question), without touching the board.
+    // When the configured timeout expires first, the count found so far is returned as a lower bound.
+    public CountResult count(int[][] board, int limit, boolean parallel) {
+        return count(board, limit, parallel, newDeadline());
+    }
 
-        // Remove Randomly K digits to make game
-        removeKDigits();
+    public CountResult count(int[][] board, int limit, boolean parallel, Deadline deadline) {
+        long startTime = System.nanoTime();
+        if (limit < 1) {
+            throw new IllegalArgumentException("Solution limit must be at least 1");
+        }
+        BoardValidator.Violation violation = BoardValidator.check(board);
+        if (violation != null) {
+            if (violation.getStatus() == SolveStatus.INVALID) {
+                throw new IllegalArgumentException(violation.getMessage());
+            }
+            // A cell without candidates: there is nothing to count
+            return countResult(0, limit, Engine.DLX, new SearchStats(0, 0), false, startTime);
+        }
+        if (parallel) {
+            ParallelDLX.Search search = parallelDLX.count(board, limit, deadline);
+            return countResult(search.getSolutionCount(), limit, Engine.DLX_PARALLEL,
+                    new SearchStats(search.getNodeCount(), search.getBacktrackCount()), search.isTimedOut(), startTime);
+        }
+        return poolDLX(board.length).with(solver -> {
+            boolean timedOut = false;
+            try {
+                solver.countValidated(board, limit, deadline);
+            } catch (SolveTimeoutException e) {
+                timedOut = true;
+            }
+            return countResult(solver.getSolutionCount(), limit, Engine.DLX, solver.getSearchStats(), timedOut, startTime);
+        });
     }
 
-    // Fill the diagonal SRN number of SRN x SRN matrices
-    private void fillDiagonal() {
-        for (int i = 0; i < N; i = i + SRN) {
-            // for diagonal box, start coordinates->i==j
-            fillBox(i, i);
+    // Counts record into the search series of the engine that ran them, tagged op=count
+    private CountResult countResult(int count, int limit, Engine engine, SearchStats stats, boolean timedOut, long startTime) {
+        long duration = System.nanoTime() - startTime;
+        metrics.recordCount(duration);
+        metrics.recordCountSearch(engine, stats);
+        CountResult result = new CountResult(count, limit, stats.getNodes(), stats.getBacktracks(), formatDuration(duration));
+        if (timedOut) {
+            result.setComplete(false);
+            result.setTimedOut(true);
         }
+        return result;
+    }
+
+    private SolverPool<DLX> poolDLX(int size) {
+        return poolsDLX.computeIfAbsent(size, n -> new SolverPool<>(() -> new DLX(n), MAX_IDLE_SOLVERS));
+    }
+
+    // The matrix of a variant is built on its first solve and shared by every solver in its pool
+    private SolverPool<DLX> poolVariant(ConstraintSet variant) {
+        return poolsVariant.get(variant, constraints -> {
+            DLX.Matrix matrix = new DLX.Matrix(constraints);
+            return new VariantPool(new SolverPool<>(() -> new DLX(matrix), MAX_IDLE_SOLVERS), variantBytes(matrix));
+        }).solvers();
+    }
+
+    private record VariantPool(SolverPool<DLX> solvers, int weight) {
+    }
+
+    // The matrix keeps six int arrays over its nodes and every pooled solver four more
+    static int variantBytes(DLX.Matrix matrix) {
+        long bytes = (long) matrix.nodeNb * Integer.BYTES * (6 + 4L * MAX_IDLE_SOLVERS);
+        return (int) Math.min(bytes, Integer.MAX_VALUE);
+    }
+
+    // Bytes held by the cached variants, after pending evictions
+    long variantBytes() {
+        poolsVariant.cleanUp();
+        return poolsVariant.policy().eviction().orElseThrow().weightedSize().orElseThrow();
     }
 
-    // Returns false if given SRN x SRN block contains num
-    private boolean unUsedInBox(int rowStart, int colStart, int num) {
-        for (int i = 0; i < SRN; i++)
-            for (int j = 0; j < SRN; j++)
-                if (mat[rowStart + i][colStart + j] == num)
-                    return false;
-        return true;
+    // Solve the board in place with the logical techniques and rate it: score, hardest technique,
+    // steps per technique and, when traced, one line per step
+    public Grading grade(int[][] board, boolean traced) {
+        return grade(board, traced, newDeadline());
     }
 
-    // Fill a SRN x SRN matrix
-    private void fillBox(int row, int col) {
-        int num;
-        for (int i = 0; i < SRN; i++) {
-            for (int j = 0; j < SRN; j++) {
-                do {
-                    num = randomGenerator(N);
-                } while (!unUsedInBox(row, col, num));
-                mat[row + i][col + j] = num;
+    public Grading grade(int[][] board, boolean traced, Deadline deadline) {
+        long startTime = System.nanoTime();
+        BoardValidator.Violation violation = BoardValidator.check(board);
+        if (violation != null) {
+            if (violation.getStatus() == SolveStatus.INVALID) {
+                countInvalid();
+                return new Grading(SolveStatus.INVALID, null, violation.getMessage(), null);
             }
+            long duration = System.nanoTime() - startTime;
+            metrics.recordSolve(Engine.LOGIC, SolveStatus.UNSOLVABLE, duration);
+            return new Grading(SolveStatus.UNSOLVABLE, null, noSolution(violation), formatDuration(duration));
         }
+        return poolLogic(board.length).with(solver -> {
+            SolveStatus status;
+            try {
+                status = solver.solveValidated(board, traced, deadline) ? SolveStatus.SOLVED : SolveStatus.UNSOLVABLE;
+            } catch (SolveTimeoutException e) {
+                status = SolveStatus.TIMEOUT;
+            }
+            long duration = System.nanoTime() - startTime;
+            metrics.recordSolve(Engine.LOGIC, status, duration);
+            String message = switch (status) {
+                case SOLVED -> null;
+                case TIMEOUT -> "No solution found before the deadline.";
+                default -> "No solution exists for this Sudoku configuration.";
+            };
+            Grading grading = new Grading(status, status == SolveStatus.SOLVED ? board : null, message, formatDuration(duration));
+            grading.setScore(solver.getScore());
+            grading.setHardest(solver.getHardest());
+            grading.setTechniques(solver.getTechniqueCounts());
+            grading.setTrace(solver.getTrace());
+            return grading;
+        });
     }
 
-    // Random generator
-    private int randomGenerator(int num) {
-        return (int) Math.floor((Math.random() * num + 1));
+    private SolverPool<LogicSolver> poolLogic(int size) {
+        return poolsLogic.computeIfAbsent(size, n -> new SolverPool<>(() -> new LogicSolver(n), MAX_IDLE_SOLVERS));
     }
 
-    // Check if safe to put in cell
-    private boolean checkIfSafe(int i, int j, int num) {
-        return (unUsedInRow(i, num) &&
-                unUsedInCol(j, num) &&
-                unUsedInBox(i - i % SRN, j - j % SRN, num));
+    private SolverPool<Bitmask> poolBitmask(int size) {
+        return poolsBitmask.computeIfAbsent(size, n -> new SolverPool<>(() -> new Bitmask(n), MAX_IDLE_SOLVERS));
     }
 
-    // Check in the row for existence
-    private boolean unUsedInRow(int i, int num) {
-        for (int j = 0; j < N; j++)
-            if (mat[i][j] == num)
-                return false;
-        return true;
+    // Message for a board the pre-solve checks found a dead cell on
+    private static String noSolution(BoardValidator.Violation violation) {
+        return "No solution exists: " + violation.getMessage().toLowerCase(Locale.ROOT) + ".";
     }
 
-    // Check in the column for existence
-    private boolean unUsedInCol(int j, int num) {
-        for (int i = 0; i < N; i++)
-            if (mat[i][j] == num)
-                return false;
-        return true;
+    private static SudokuResult result(int[][] board, SolveStatus status, long duration) {
+        String message = status == SolveStatus.SOLVED ? null : "No solution exists for this Sudoku configuration.";
+        return new SudokuResult(board, message, formatDuration(duration), status);
     }
 
-    // A recursive function to fill remaining matrix
-    private boolean fillRemaining(int i, int j) {
-        if (j >= N && i < N - 1) {
-            i = i + 1;
-            j = 0;
+    // Next cell to reveal on a board being played. Naked and hidden singles come straight from the
+    // candidate masks; only when neither applies is the board solved (through the cache) to reveal
+    // the empty cell with the fewest candidates.
+    public Hint hint(CandidateGrid grid) {
+        int size = grid.getSize();
+        if (grid.getEmptyCount() == 0) {
+            return Hint.none("The board is already complete.");
         }
-        if (i >= N && j >= N)
-            return true;
-
-        if (i < SRN) {
-            if (j < SRN)
-                j = SRN;
-        } else if (i < N - SRN) {
-            if (j == (int) (i / SRN) * SRN)
-                j = j + SRN;
-        } else {
-            if (j == N - SRN) {
-                i = i + 1;
-                j = 0;
-                if (i >= N)
-                    return true;
-            }
+        int dead = grid.deadCell();
+        if (dead >= 0) {
+            return Hint.none("No solution exists: no candidates left for row " + (dead / size + 1) + ", column "
+                    + (dead % size + 1) + ".");
+        }
+        Hint single = grid.nextSingle();
+        if (single != null) {
+            return single;
         }
+        int[][] board = grid.toGrid();
+        SudokuResult result = solve(Engine.DLX, board);
+        if (result.getStatus() != SolveStatus.SOLVED) {
+            return Hint.none(result.getMessage());
+        }
+        int cell = grid.mostConstrainedCell();
+        int row = cell / size;
+        int col = cell % size;
+        return Hint.placement(row, col, board[row][col], "search",
+                "No single applies; the solution has " + board[row][col] + " at row " + (row + 1) + ", column " + (col + 1));
+    }
 
-        for (int num = 1; num <= N; num++) {
-            if (checkIfSafe(i, j, num)) {
-                mat[i][j] = num;
-                if (fillRemaining(i, j + 1))
-                    return true;
-                mat[i][j] = 0;
-            }
+    // Hit and miss counts of the solution cache
+    public String cacheStats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("enabled", cache.isEnabled());
+        report.put("size", cache.size());
+        report.put("hits", stats.hitCount());
+        report.put("misses", stats.missCount());
+        report.put("hitRate", stats.hitRate());
+        report.put("evictions", stats.evictionCount());
+        report.put("storeEnabled", store.isEnabled());
+        report.put("storeRecords", store.size());
+        try {
+            return objectMapper.writeValueAsString(report);
+        } catch (JsonProcessingException e) {
+            e.printStackTrace();
+            return "{\"error\": \"Error processing JSON\"}";
         }
-        return false;
     }
 
-    // Remove K number of digits to complete game
-    private void removeKDigits() {
-        int count = K;
-        while (count != 0) {
-            int cellId = randomGenerator(N * N) - 1;
+    // Result for a board that could not be read or has the wrong shape
+    public SudokuResult invalid(String message) {
+        countInvalid();
+        return new SudokuResult(null, message, null, SolveStatus.INVALID);
+    }
+
+    public void countInvalid() {
+        metrics.recordInvalid();
+    }
 
-            // Extract coordinates i and j
-            int i = (cellId / N);
-            int j = cellId % N;
+    // Result for a board whose solve failed on the server; the cause is logged by the caller, never returned
+    public SudokuResult failed() {
+        metrics.recordError();
+        return new SudokuResult(null, "Solving failed on the server.", null, SolveStatus.ERROR);
+    }
 
-            if (mat[i][j] != 0) {
-                count--;
-                mat[i][j] = 0;
-            }
+    // Durations are reported in milliseconds with microsecond precision
+    static String formatDuration(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    // Method to convert the Sudoku board to JSON format
+    private String convertBoardToJson(int[][] board) {
+        ObjectMapper mapper = new ObjectMapper();
+        try {
+            return mapper.writeValueAsString(board);
+        } catch (JsonProcessingException e) {
+            e.printStackTrace();
+            return "{}";
         }
     }
 
-    // Get the Sudoku matrix
-    public int[][] getMat() {
-        return mat;
+    @PreDestroy
+    public void shutdown() {
+        parallelPool.shutdownNow();
     }
 }
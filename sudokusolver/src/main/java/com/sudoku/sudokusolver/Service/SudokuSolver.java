@@ -0,0 +1,21 @@
+package com.sudoku.sudokusolver.Service;
+
+// Common entry point of the solving engines. Implementations keep the state of their current search
+// in instance fields, so an instance solves one board at a time and the service checks them out of a
+// SolverPool per engine and board size.
+public interface SudokuSolver {
+
+    // Solve the grid in place and return false when it has no solution, giving up with a
+    // SolveTimeoutException once the deadline expires
+    boolean solveSudoku(int[][] grid, Deadline deadline);
+
+    // Same as solveSudoku for a board that already passed BoardValidator, as on the service path
+    boolean solveValidated(int[][] grid, Deadline deadline);
+
+    default boolean solveSudoku(int[][] grid) {
+        return solveSudoku(grid, Deadline.none());
+    }
+
+    // Counters of the last solve, as far as it got when it timed out
+    SearchStats getSearchStats();
+}
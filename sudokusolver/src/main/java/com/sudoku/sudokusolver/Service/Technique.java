@@ -0,0 +1,34 @@
+package com.sudoku.sudokusolver.Service;
+
+// Human solving techniques tried by LogicSolver, easiest first. The code prefixes each step of the
+// trace, and the weight is what one step adds to the difficulty score.
+public enum Technique {
+    NAKED_SINGLE("NS", 1),
+    HIDDEN_SINGLE("HS", 2),
+    // Pointing (a box confines a digit to one line) and claiming (a line confines it to one box)
+    LOCKED_CANDIDATES("LC", 6),
+    NAKED_PAIR("NP", 10),
+    HIDDEN_PAIR("HP", 12),
+    NAKED_TRIPLE("NT", 16),
+    HIDDEN_TRIPLE("HT", 20),
+    X_WING("XW", 30),
+    SWORDFISH("SF", 45),
+    // No technique applied, the rest of the board was solved by DLX
+    SEARCH("DLX", 100);
+
+    private final String code;
+    private final int weight;
+
+    Technique(String code, int weight) {
+        this.code = code;
+        this.weight = weight;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+}
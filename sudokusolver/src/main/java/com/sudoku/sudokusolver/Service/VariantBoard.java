@@ -0,0 +1,44 @@
+package com.sudoku.sudokusolver.Service;
+
+// Body of a variant solve: the board, plus the jigsaw regions and diagonals that replace or add to
+// the rules of plain Sudoku
+public class VariantBoard {
+    private Board board;
+    // Region (1..size) of every cell for jigsaw Sudoku, absent to keep the boxes
+    private int[][] regions;
+    // X-Sudoku: both diagonals hold every digit once
+    private boolean diagonals;
+
+    // Constraint families of this variant
+    public ConstraintSet toConstraintSet() {
+        if (board == null) {
+            throw new IllegalArgumentException("Missing board");
+        }
+        return ConstraintSet.of(board.getSize(), regions, diagonals);
+    }
+
+    // Getters and Setters
+    public Board getBoard() {
+        return board;
+    }
+
+    public void setBoard(Board board) {
+        this.board = board;
+    }
+
+    public int[][] getRegions() {
+        return regions;
+    }
+
+    public void setRegions(int[][] regions) {
+        this.regions = regions;
+    }
+
+    public boolean isDiagonals() {
+        return diagonals;
+    }
+
+    public void setDiagonals(boolean diagonals) {
+        this.diagonals = diagonals;
+    }
+}
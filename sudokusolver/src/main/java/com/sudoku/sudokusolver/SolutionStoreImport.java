@@ -0,0 +1,123 @@
+package com.sudoku.sudokusolver;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.sudoku.sudokusolver.Service.BoardValidator;
+import com.sudoku.sudokusolver.Service.CanonicalForm;
+import com.sudoku.sudokusolver.Service.DLX;
+import com.sudoku.sudokusolver.Service.SolutionStore;
+import com.sudoku.sudokusolver.Service.SolveStatus;
+import com.sudoku.sudokusolver.Service.SudokuFormat;
+
+// Bulk loader for the on-disk solution store (sudoku.store.path), run while the server is stopped;
+// the store file is locked, so it refuses to start next to a running server:
+//
+//   java -cp sudokusolver.jar -Dloader.main=com.sudoku.sudokusolver.SolutionStoreImport \
+//        org.springframework.boot.loader.launch.PropertiesLauncher \
+//        solutions.db puzzles.txt
+//
+// Lines are 81-character puzzles, optionally followed by ",solution" or ",UNSOLVABLE" as written by
+// SudokuCli --format=line. Puzzles without a usable answer are solved with DLX first.
+// Use "-" as input to read from standard input.
+public class SolutionStoreImport {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2) {
+            System.err.println("Usage: SolutionStoreImport <store> <input|->");
+            System.exit(2);
+        }
+        long startTime = System.nanoTime();
+        long added = 0;
+        long known = 0;
+        long skipped = 0;
+        long rejected = 0;
+        DLX dlx = new DLX();
+        SolutionStore store;
+        try {
+            store = SolutionStore.open(Path.of(args[0]));
+        } catch (IllegalStateException e) {
+            System.err.println(e.getMessage());
+            System.exit(1);
+            return;
+        }
+        try (BufferedReader reader = args[1].equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Path.of(args[1]), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                int comma = line.indexOf(',');
+                int[][] puzzle;
+                try {
+                    puzzle = SudokuFormat.parseLine(comma < 0 ? line : line.substring(0, comma));
+                } catch (IllegalArgumentException e) {
+                    skipped++;
+                    continue;
+                }
+                BoardValidator.Violation violation = BoardValidator.check(puzzle);
+                if (violation != null && violation.getStatus() == SolveStatus.INVALID) {
+                    skipped++;
+                    continue;
+                }
+                CanonicalForm form = CanonicalForm.of(puzzle);
+                SolveStatus status = answer(puzzle, comma < 0 ? null : line.substring(comma + 1), dlx);
+                if (status == null) {
+                    rejected++;
+                    continue;
+                }
+                byte[] solution = status == SolveStatus.SOLVED ? form.toCanonical(puzzle) : null;
+                if (store.append(form.packed(), status, solution)) {
+                    added++;
+                } else {
+                    known++;
+                }
+            }
+        } finally {
+            store.close();
+        }
+        long millis = (System.nanoTime() - startTime) / 1_000_000;
+        System.err.println("Imported " + added + " puzzles (" + known + " already stored, " + skipped + " unreadable, "
+                + rejected + " wrongly marked unsolvable) in " + millis + " ms, " + store.size() + " in the store");
+    }
+
+    // Fill puzzle with its solution: the given one when it really solves the puzzle, otherwise one found by DLX.
+    // Null when the line claims UNSOLVABLE but DLX solves it: the store keeps answers forever, so it is not trusted.
+    private static SolveStatus answer(int[][] puzzle, String given, DLX dlx) {
+        if ("UNSOLVABLE".equals(given)) {
+            return dlx.solveSudoku(puzzle) ? null : SolveStatus.UNSOLVABLE;
+        }
+        if (given != null) {
+            try {
+                int[][] solution = SudokuFormat.parseLine(given);
+                if (solves(puzzle, solution)) {
+                    for (int r = 0; r < puzzle.length; r++) {
+                        puzzle[r] = solution[r];
+                    }
+                    return SolveStatus.SOLVED;
+                }
+            } catch (IllegalArgumentException e) {
+                // Not a solution line (e.g. TIMEOUT), solve it instead
+            }
+        }
+        return dlx.solveSudoku(puzzle) ? SolveStatus.SOLVED : SolveStatus.UNSOLVABLE;
+    }
+
+    // A full, valid grid that keeps every given of the puzzle
+    private static boolean solves(int[][] puzzle, int[][] solution) {
+        for (int r = 0; r < puzzle.length; r++) {
+            for (int c = 0; c < puzzle.length; c++) {
+                if (solution[r][c] == 0 || (puzzle[r][c] != 0 && puzzle[r][c] != solution[r][c])) {
+                    return false;
+                }
+            }
+        }
+        return BoardValidator.check(solution) == null;
+    }
+}
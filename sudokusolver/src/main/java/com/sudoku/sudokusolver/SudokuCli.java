@@ -0,0 +1,83 @@
+package com.sudoku.sudokusolver;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.sudoku.sudokusolver.Service.SolveExecutor;
+import com.sudoku.sudokusolver.Service.StreamFormat;
+import com.sudoku.sudokusolver.Service.StreamService;
+import com.sudoku.sudokusolver.Service.SudokuService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Command-line solver for large puzzle files, without starting the web server.
+// Reads one puzzle per line and streams answers with constant heap use:
+//
+//   java -cp sudokusolver.jar -Dloader.main=com.sudoku.sudokusolver.SudokuCli \
+//        org.springframework.boot.loader.launch.PropertiesLauncher \
+//        puzzles.txt solutions.txt [--format=line|ndjson] [--unordered] [--threads=N] [--max-in-flight=N]
+//
+// Use "-" as input or output to read from standard input or write to standard output.
+public class SudokuCli {
+
+    public static void main(String[] args) throws Exception {
+        String input = null;
+        String output = null;
+        StreamFormat format = StreamFormat.LINE;
+        boolean ordered = true;
+        int threads = 0;
+        int maxInFlight = 1024;
+
+        for (String arg : args) {
+            if (arg.startsWith("--format=")) {
+                format = StreamFormat.fromName(arg.substring("--format=".length()));
+            } else if (arg.equals("--unordered")) {
+                ordered = false;
+            } else if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(arg.substring("--threads=".length()));
+            } else if (arg.startsWith("--max-in-flight=")) {
+                maxInFlight = Integer.parseInt(arg.substring("--max-in-flight=".length()));
+            } else if (input == null) {
+                input = arg;
+            } else if (output == null) {
+                output = arg;
+            } else {
+                usage();
+                return;
+            }
+        }
+        if (input == null || output == null) {
+            usage();
+            return;
+        }
+
+        // The queue holds the whole window, so the command line never has a puzzle turned away
+        SolveExecutor executor = new SolveExecutor(new SimpleMeterRegistry(), threads, maxInFlight);
+        StreamService streamService = new StreamService(new SudokuService(), executor, maxInFlight);
+        long startTime = System.nanoTime();
+        try (Reader reader = input.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Path.of(input), StandardCharsets.UTF_8);
+             Writer writer = output.equals("-")
+                ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+                : Files.newBufferedWriter(Path.of(output), StandardCharsets.UTF_8)) {
+            long count = streamService.solve(reader, writer, format, ordered);
+            long millis = (System.nanoTime() - startTime) / 1_000_000;
+            System.err.println("Solved " + count + " puzzles in " + millis + " ms");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void usage() {
+        System.err.println("Usage: SudokuCli <input|-> <output|-> [--format=line|ndjson] [--unordered] [--threads=N] [--max-in-flight=N]");
+        System.exit(2);
+    }
+}
@@ -0,0 +1,19 @@
+package com.sudoku.sudokusolver;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.sudoku.sudokusolver.Controller.CompactFormatConverter;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    // Added after the defaults, so JSON stays the answer to Accept: */*
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new CompactFormatConverter());
+    }
+}
@@ -0,0 +1,105 @@
+package com.sudoku.sudokusolver.Controller;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.StringHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.sudoku.sudokusolver.Service.BatchService;
+import com.sudoku.sudokusolver.Service.SolveExecutor;
+import com.sudoku.sudokusolver.Service.SolveStatus;
+import com.sudoku.sudokusolver.Service.SudokuFormat;
+import com.sudoku.sudokusolver.Service.SudokuService;
+
+class CompactFormatConverterTest {
+
+    private static final String PUZZLE = ".......12....35......6...7.7.....3.....4..8..1...........12.....8.....4..5....6..";
+    private static final String SOLUTION = "673894512912735486845612973798261354526473891134589267469128735287356149351947628";
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        API api = new API();
+        api.service = new SudokuService();
+        api.executor = new SolveExecutor(new SimpleMeterRegistry(), 1, 4);
+        api.batchService = new BatchService(api.service, api.executor, 0);
+        // Same order as WebConfig: the default String and JSON converters first, compact formats after them
+        mvc = MockMvcBuilders.standaloneSetup(api)
+                .setMessageConverters(new StringHttpMessageConverter(), new MappingJackson2HttpMessageConverter(),
+                        new CompactFormatConverter())
+                .build();
+    }
+
+    @Test
+    void jsonStaysTheDefault() throws Exception {
+        mvc.perform(post("/api/solve/dlx").contentType(MediaType.TEXT_PLAIN).content(PUZZLE))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.status").value("SOLVED"))
+                .andExpect(jsonPath("$.board[0][0]").value(6));
+    }
+
+    @Test
+    void solvesLinesAsLines() throws Exception {
+        mvc.perform(post("/api/solve/bitmask").contentType(MediaType.TEXT_PLAIN).accept(MediaType.TEXT_PLAIN)
+                        .content(PUZZLE + "\n"))
+                .andExpect(content().string(SOLUTION + "\n"));
+    }
+
+    @Test
+    void solvesPackedBoardsAsPackedBoards() throws Exception {
+        byte[] body = mvc.perform(post("/api/solve/dlx").contentType(CompactFormatConverter.PACKED)
+                        .accept(CompactFormatConverter.PACKED)
+                        .content(SudokuFormat.pack(SudokuFormat.parseLine(PUZZLE))))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(1 + 41, body.length);
+        assertEquals(SolveStatus.SOLVED.ordinal(), body[0]);
+        byte[] packed = new byte[41];
+        System.arraycopy(body, 1, packed, 0, packed.length);
+        assertArrayEquals(SudokuFormat.pack(SudokuFormat.parseLine(SOLUTION)), packed);
+    }
+
+    @Test
+    void rejectsMalformedBoards() throws Exception {
+        for (String json : new String[] { "[[1,2],[3]]", "[[1,2,3],[4,5,6],[7,8,9]]", "[[0,0,0,0],[0,0,0,0],[0,0,0,0],[0,0,0,5]]", "{}" }) {
+            mvc.perform(post("/api/solve/dlx").contentType(MediaType.APPLICATION_JSON).content(json))
+                    .andExpect(content().string("{\"error\": \"Invalid configuration\"}"));
+        }
+        mvc.perform(post("/api/solve/dlx").contentType(MediaType.TEXT_PLAIN).content(PUZZLE.substring(1)))
+                .andExpect(content().string("{\"error\": \"Invalid configuration\"}"));
+        mvc.perform(post("/api/solve/dlx").contentType(MediaType.TEXT_PLAIN).content(PUZZLE.getBytes(StandardCharsets.US_ASCII)))
+                .andExpect(jsonPath("$.status").value("SOLVED"));
+    }
+
+    // Batches bind their boards through the same readers as single solves
+    @Test
+    void bindsBatchBoards() throws Exception {
+        String board = new ObjectMapper().writeValueAsString(SudokuFormat.parseLine(PUZZLE));
+        mvc.perform(post("/api/solve/batch").contentType(MediaType.APPLICATION_JSON).content("[" + board + "," + board + "]"))
+                .andExpect(jsonPath("$.results.length()").value(2))
+                .andExpect(jsonPath("$.results[1].status").value("SOLVED"));
+        mvc.perform(post("/api/solve/batch").contentType(MediaType.TEXT_PLAIN).content(PUZZLE + "\nnot a puzzle\n"))
+                .andExpect(jsonPath("$.results[0].status").value("SOLVED"))
+                .andExpect(jsonPath("$.results[1].status").value("INVALID"));
+        mvc.perform(post("/api/solve/batch").contentType(MediaType.APPLICATION_JSON).content("[[[1,2],[3]]]"))
+                .andExpect(content().string("{\"error\": \"Invalid configuration\"}"));
+        mvc.perform(post("/api/solve/batch?engine=nope").contentType(MediaType.APPLICATION_JSON).content("[" + board + "]"))
+                .andExpect(jsonPath("$.error").value(startsWith("Invalid configuration")));
+    }
+}
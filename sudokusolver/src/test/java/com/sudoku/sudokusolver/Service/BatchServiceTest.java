@@ -0,0 +1,87 @@
+package com.sudoku.sudokusolver.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BatchServiceTest {
+
+    private final SolveExecutor executor = new SolveExecutor(new SimpleMeterRegistry(), 4, 16);
+    private final BatchService batchService = new BatchService(new SudokuService(), executor, 0);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void resultsKeepInputOrder() {
+        List<int[][]> puzzles = new ArrayList<>();
+        List<int[][]> boards = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            int[][] puzzle = SudokuTestSupport.newPuzzle();
+            puzzles.add(puzzle);
+            boards.add(SudokuTestSupport.copy(puzzle));
+        }
+
+        BatchResult result = batchService.solveAll(Engine.DLX, boards);
+
+        assertEquals(puzzles.size(), result.getResults().size());
+        for (int i = 0; i < puzzles.size(); i++) {
+            assertEquals(SolveStatus.SOLVED, result.getResults().get(i).getStatus());
+            SudokuTestSupport.assertSolves(puzzles.get(i), result.getResults().get(i).getBoard());
+        }
+    }
+
+    // Batch chunks queue with single-board requests, so a full executor turns the batch away
+    @Test
+    void batchesGoThroughAdmission() throws Exception {
+        SolveExecutor single = new SolveExecutor(new SimpleMeterRegistry(), 1, 0);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> busy = CompletableFuture.supplyAsync(() -> single.call(() -> {
+            running.countDown();
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }));
+        try {
+            running.await(5, TimeUnit.SECONDS);
+            BatchService crowded = new BatchService(new SudokuService(), single, 0);
+            assertThrows(SolveRejectedException.class, () -> crowded.solveAll(Engine.DLX, List.<int[][]>of(SudokuTestSupport.newPuzzle())));
+            release.countDown();
+            assertTrue(busy.get(5, TimeUnit.SECONDS));
+            assertEquals(SolveStatus.SOLVED, crowded.solveAll(Engine.DLX, List.<int[][]>of(SudokuTestSupport.newPuzzle()))
+                    .getResults().get(0).getStatus());
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    @Test
+    void malformedLinesAreReportedInPlace() {
+        String solvable = SudokuFormat.toLine(SudokuTestSupport.newPuzzle());
+        String body = solvable + "\n12345\n\n" + solvable.replace('.', '0') + "\n";
+
+        List<SudokuResult> results = batchService.solveLines(Engine.BACKTRACKING, body).getResults();
+
+        assertEquals(3, results.size());
+        assertEquals(SolveStatus.SOLVED, results.get(0).getStatus());
+        assertEquals(SolveStatus.INVALID, results.get(1).getStatus());
+        assertEquals("Expected 81 characters but got 5", results.get(1).getMessage());
+        assertEquals(SolveStatus.SOLVED, results.get(2).getStatus());
+    }
+}
@@ -0,0 +1,65 @@
+package com.sudoku.sudokusolver.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+class BoardValidatorTest {
+
+    @Test
+    void acceptsGeneratedPuzzles() {
+        for (int size : new int[] { 4, 9, 16, 25 }) {
+            assertNull(BoardValidator.check(SudokuTestSupport.newPuzzle(size, size * size / 2)));
+        }
+        assertNull(BoardValidator.check(new int[9][9]));
+    }
+
+    @Test
+    void namesTheUnitWithARepeatedDigit() {
+        int[][] board = new int[9][9];
+        board[2][1] = 5;
+        board[2][7] = 5;
+        assertInvalid("Duplicate 5 in row 3", board);
+
+        board = new int[9][9];
+        board[0][4] = 7;
+        board[8][4] = 7;
+        assertInvalid("Duplicate 7 in column 5", board);
+
+        board = new int[9][9];
+        board[3][6] = 1;
+        board[5][8] = 1;
+        assertInvalid("Duplicate 1 in box 6", board);
+    }
+
+    @Test
+    void rejectsValuesOutOfRangeAndBadShapes() {
+        int[][] board = new int[9][9];
+        board[1][2] = 10;
+        assertInvalid("Value 10 at row 2, column 3 is outside 0-9", board);
+        board[1][2] = -1;
+        assertInvalid("Value -1 at row 2, column 3 is outside 0-9", board);
+
+        board = new int[9][9];
+        board[4] = new int[8];
+        assertInvalid("Expected 9 values in row 5", board);
+        assertInvalid("Expected a 4x4, 9x9, 16x16 or 25x25 board", new int[8][8]);
+        assertInvalid("Expected a 4x4, 9x9, 16x16 or 25x25 board", null);
+    }
+
+    @Test
+    void findsCellsWithoutCandidates() {
+        // 1-8 in row 1 and 9 in column 1 leave nothing for the top-left cell
+        int[][] board = SudokuFormat.parseLine(".12345678" + "9" + ".".repeat(71));
+        BoardValidator.Violation violation = BoardValidator.check(board);
+        assertEquals(SolveStatus.UNSOLVABLE, violation.getStatus());
+        assertEquals("No candidates left for row 1, column 1", violation.getMessage());
+    }
+
+    private static void assertInvalid(String message, int[][] board) {
+        BoardValidator.Violation violation = BoardValidator.check(board);
+        assertEquals(SolveStatus.INVALID, violation.getStatus());
+        assertEquals(message, violation.getMessage());
+    }
+}
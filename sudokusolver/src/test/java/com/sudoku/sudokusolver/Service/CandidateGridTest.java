@@ -0,0 +1,93 @@
+package com.sudoku.sudokusolver.Service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class CandidateGridTest {
+
+    private static final String PUZZLE = ".......12....35......6...7.7.....3.....4..8..1...........12.....8.....4..5....6..";
+    private static final String SOLUTION = "673894512912735486845612973798261354526473891134589267469128735287356149351947628";
+
+    @Test
+    void movesKeepCandidatesInStepWithAFreshGrid() {
+        Random random = new Random(7);
+        int[][] solution = SudokuFormat.parseLine(SOLUTION);
+        CandidateGrid grid = new CandidateGrid(SudokuFormat.parseLine(PUZZLE));
+        for (int move = 0; move < 500; move++) {
+            int row = random.nextInt(9);
+            int col = random.nextInt(9);
+            // Correct digits and clears, so no move clashes
+            grid.set(row, col, random.nextBoolean() ? solution[row][col] : 0);
+            assertArrayEquals(new CandidateGrid(grid.toGrid()).candidateLists(), grid.candidateLists());
+        }
+    }
+
+    @Test
+    void rejectsAClashingMoveAndKeepsTheBoard() {
+        CandidateGrid grid = new CandidateGrid(SudokuFormat.parseLine(PUZZLE));
+        grid.set(0, 0, 6);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> grid.set(0, 0, 1));
+        assertEquals("1 is already in row 1", e.getMessage());
+        assertEquals(6, grid.get(0, 0));
+        assertEquals(0, grid.candidates(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> grid.set(9, 0, 1));
+    }
+
+    @Test
+    void reportsTheCellsAMoveAffects() {
+        CandidateGrid grid = new CandidateGrid(new int[9][9]);
+        grid.set(4, 4, 5);
+        List<CellCandidates> affected = grid.affectedBy(4, 4);
+        // The cell itself and its 20 peers
+        assertEquals(21, affected.size());
+        for (CellCandidates cell : affected.subList(1, affected.size())) {
+            assertEquals(8, cell.getCandidates().length);
+        }
+    }
+
+    @Test
+    void findsNakedThenHiddenSingles() {
+        // Row 1 holds 1-8, so its last cell can only be 9
+        CandidateGrid naked = new CandidateGrid(SudokuFormat.parseLine("12345678." + ".".repeat(72)));
+        Hint hint = naked.nextSingle();
+        assertEquals("naked single", hint.getTechnique());
+        assertEquals(0, hint.getRow());
+        assertEquals(8, hint.getCol());
+        assertEquals(9, hint.getValue());
+
+        // 1 is in rows 2 and 3 and columns 2 and 3, so box 1 can only take it at row 1, column 1
+        int[][] board = new int[9][9];
+        board[1][3] = 1;
+        board[2][6] = 1;
+        board[3][1] = 1;
+        board[6][2] = 1;
+        hint = new CandidateGrid(board).nextSingle();
+        assertEquals("hidden single", hint.getTechnique());
+        assertEquals(0, hint.getRow());
+        assertEquals(0, hint.getCol());
+        assertEquals(1, hint.getValue());
+
+        assertNull(new CandidateGrid(new int[9][9]).nextSingle());
+    }
+
+    @Test
+    void hintsAgreeWithTheSolution() {
+        SudokuService service = new SudokuService();
+        int[][] solution = SudokuFormat.parseLine(SOLUTION);
+        CandidateGrid grid = new CandidateGrid(SudokuFormat.parseLine(PUZZLE));
+        // Follow the hints until the board is full, whichever technique they come from
+        while (grid.getEmptyCount() > 0) {
+            Hint hint = service.hint(grid);
+            assertEquals(solution[hint.getRow()][hint.getCol()], hint.getValue());
+            grid.set(hint.getRow(), hint.getCol(), hint.getValue());
+        }
+        assertEquals("The board is already complete.", service.hint(grid).getMessage());
+    }
+}
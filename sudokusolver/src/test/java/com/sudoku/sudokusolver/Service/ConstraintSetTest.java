@@ -0,0 +1,158 @@
+package com.sudoku.sudokusolver.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class ConstraintSetTest {
+
+    private final SudokuService service = new SudokuService();
+
+    // Contiguous regions that can be filled with and without the diagonals. Simply trading two cells
+    // between neighbouring boxes would not do: the two cells would need the same digit in one row.
+    private static final String[] JIGSAW = {
+            "111222233",
+            "111123333",
+            "142222336",
+            "145555366",
+            "444455666",
+            "444558666",
+            "777858999",
+            "777888899",
+            "777889999" };
+
+    private static int[][] jigsaw() {
+        int[][] regions = new int[9][9];
+        for (int r = 0; r < 9; r++) {
+            for (int c = 0; c < 9; c++) {
+                regions[r][c] = JIGSAW[r].charAt(c) - '0';
+            }
+        }
+        return regions;
+    }
+
+    @Test
+    void classicSetKeepsTheFourConstraints() {
+        ConstraintSet classic = ConstraintSet.classic(9);
+        assertTrue(classic.isClassic());
+        assertEquals(4 * 81, classic.columnCount());
+        assertEquals(1 + 4 * 81 + 4 * 729, new DLX.Matrix(classic).nodeNb);
+        // 9 columns per diagonal, and one extra node per digit and diagonal for the 9 cells on each
+        assertEquals(1 + 4 * 81 + 2 * 9 + 4 * 729 + 2 * 9 * 9, new DLX.Matrix(ConstraintSet.of(9, null, true)).nodeNb);
+    }
+
+    @Test
+    void equalLayoutsAreTheSameVariant() {
+        assertEquals(ConstraintSet.of(9, jigsaw(), true), ConstraintSet.of(9, jigsaw(), true));
+        assertNotEquals(ConstraintSet.of(9, jigsaw(), true), ConstraintSet.of(9, jigsaw(), false));
+    }
+
+    @Test
+    void solvesXSudoku() {
+        assertSolvesVariant(ConstraintSet.of(9, null, true), 1);
+    }
+
+    @Test
+    void solvesJigsawSudoku() {
+        assertSolvesVariant(ConstraintSet.of(9, jigsaw(), false), 2);
+    }
+
+    @Test
+    void solvesJigsawXSudoku() {
+        assertSolvesVariant(ConstraintSet.of(9, jigsaw(), true), 3);
+    }
+
+    @Test
+    void variantPoolsAreWeighedByTheirMatrix() {
+        SudokuService fresh = new SudokuService();
+        ConstraintSet x = ConstraintSet.of(9, null, true);
+        ConstraintSet bigX = ConstraintSet.of(16, null, true);
+        assertEquals(SolveStatus.SOLVED, fresh.solve(x, new int[9][9], false).getStatus());
+        assertEquals(SolveStatus.SOLVED, fresh.solve(bigX, new int[16][16], false).getStatus());
+        long expected = SudokuService.variantBytes(new DLX.Matrix(x)) + SudokuService.variantBytes(new DLX.Matrix(bigX));
+        assertEquals(expected, fresh.variantBytes());
+        assertTrue(expected <= SudokuService.MAX_VARIANT_BYTES);
+    }
+
+    @Test
+    void rejectsGivensThatRepeatInAVariantUnit() {
+        int[][] board = new int[9][9];
+        board[0][0] = 5;
+        board[8][8] = 5;
+        SudokuResult result = service.solve(ConstraintSet.of(9, null, true), board, false);
+        assertEquals(SolveStatus.INVALID, result.getStatus());
+        assertEquals("Duplicate 5 in the main diagonal", result.getMessage());
+
+        // Legal in plain Sudoku, but (2,2) belongs to region 2 like (0,3); (0,0) is in region 1
+        board = new int[9][9];
+        board[2][2] = 7;
+        board[0][3] = 7;
+        assertEquals("Duplicate 7 in region 2", service.solve(ConstraintSet.of(9, jigsaw(), false), board, false).getMessage());
+        board[0][3] = 0;
+        board[0][0] = 7;
+        assertEquals(SolveStatus.SOLVED, service.solve(ConstraintSet.of(9, jigsaw(), false), board, false).getStatus());
+    }
+
+    @Test
+    void rejectsMalformedRegions() {
+        int[][] regions = jigsaw();
+        regions[0][0] = 2;
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> ConstraintSet.of(9, regions, false));
+        assertEquals("Region 1 has 8 cells instead of 9", e.getMessage());
+        assertThrows(IllegalArgumentException.class, () -> ConstraintSet.of(4, jigsaw(), false));
+    }
+
+    // Fill an empty board of the variant, dig a puzzle out of it and solve that again
+    private void assertSolvesVariant(ConstraintSet variant, long seed) {
+        int[][] solution = new int[9][9];
+        SudokuResult full = service.solve(variant, solution, true);
+        assertEquals(SolveStatus.SOLVED, full.getStatus());
+        assertEquals(Engine.DLX, full.getEngine());
+        assertNotNull(full.getStats());
+        assertNull(BoardValidator.check(solution, variant));
+        assertFullySatisfies(variant, solution);
+
+        Random random = new Random(seed);
+        int[][] puzzle = SudokuTestSupport.copy(solution);
+        for (int blanks = 0; blanks < 50; ) {
+            int cell = random.nextInt(81);
+            if (puzzle[cell / 9][cell % 9] != 0) {
+                puzzle[cell / 9][cell % 9] = 0;
+                blanks++;
+            }
+        }
+        int[][] solved = SudokuTestSupport.copy(puzzle);
+        assertEquals(SolveStatus.SOLVED, service.solve(variant, solved, false).getStatus());
+        assertFullySatisfies(variant, solved);
+        for (int r = 0; r < 9; r++) {
+            for (int c = 0; c < 9; c++) {
+                assertTrue(puzzle[r][c] == 0 || puzzle[r][c] == solved[r][c]);
+            }
+        }
+    }
+
+    // Every unit of every family holds each digit exactly once
+    private static void assertFullySatisfies(ConstraintSet variant, int[][] grid) {
+        for (Constraint family : variant.getConstraints()) {
+            int[] digits = new int[family.unitCount(9)];
+            for (int r = 0; r < 9; r++) {
+                for (int c = 0; c < 9; c++) {
+                    int unit = family.unit(9, r, c);
+                    if (unit >= 0) {
+                        digits[unit] |= 1 << (grid[r][c] - 1);
+                    }
+                }
+            }
+            for (int unit = 0; unit < digits.length; unit++) {
+                assertEquals(0x1FF, digits[unit], family.unitName(9, unit));
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.sudoku.sudokusolver.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+class DLXTest {
+
+    private final DLX dlx = new DLX();
+    private final Bitmask reference = new Bitmask();
+
+    // Random subsets of generated solutions, some with one extra clue that may clash or break the puzzle
+    @Test
+    void matchesReferenceOnRandomizedCorpus() {
+        Random random = new Random(42);
+        int[][] solution = null;
+        for (int n = 0; n < 5000; n++) {
+            if (n % 50 == 0) {
+                solution = SudokuTestSupport.newPuzzle();
+                reference.solveSudoku(solution);
+            }
+            int[][] puzzle = new int[9][9];
+            int clues = 22 + random.nextInt(40);
+            for (int k = 0; k < clues; k++) {
+                int cell = random.nextInt(81);
+                puzzle[cell / 9][cell % 9] = solution[cell / 9][cell % 9];
+            }
+            if (random.nextInt(4) == 0) {
+                int cell = random.nextInt(81);
+                puzzle[cell / 9][cell % 9] = 1 + random.nextInt(9);
+            }
+
+            int[][] expected = SudokuTestSupport.copy(puzzle);
+            int[][] actual = SudokuTestSupport.copy(puzzle);
+            boolean expectedSolved = reference.solveSudoku(expected);
+            assertEquals(expectedSolved, dlx.solveSudoku(actual), SudokuFormat.toLine(puzzle));
+            if (expectedSolved) {
+                SudokuTestSupport.assertSolves(puzzle, actual);
+            }
+        }
+    }
+
+    // The flat arrays pick the same columns and rows in the same order as the original Node-based
+    // search, so both find the same first solution, also on boards with many solutions
+    @Test
+    void matchesNodeBasedSearch() throws IOException {
+        List<int[][]> boards = new ArrayList<>();
+        for (String name : List.of("easy", "hard", "seventeen", "unsolvable")) {
+            for (String line : puzzles(name)) {
+                boards.add(SudokuFormat.parseLine(line));
+            }
+        }
+        Random random = new Random(7);
+        for (int n = 0; n < 200; n++) {
+            int[][] solution = SudokuTestSupport.newPuzzle();
+            reference.solveSudoku(solution);
+            int[][] puzzle = new int[9][9];
+            for (int k = 10 + random.nextInt(40); k > 0; k--) {
+                int cell = random.nextInt(81);
+                puzzle[cell / 9][cell % 9] = solution[cell / 9][cell % 9];
+            }
+            boards.add(puzzle);
+        }
+
+        for (int[][] puzzle : boards) {
+            // The Node-based search has no pre-solve checks and cannot take clashing givens
+            if (BoardValidator.check(puzzle) != null) {
+                continue;
+            }
+            int[][] expected = SudokuTestSupport.copy(puzzle);
+            int[][] actual = SudokuTestSupport.copy(puzzle);
+            assertEquals(new NodeDLX().solveSudoku(expected), dlx.solveSudoku(actual), SudokuFormat.toLine(puzzle));
+            assertArrayEquals(expected, actual, SudokuFormat.toLine(puzzle));
+        }
+    }
+
+    @Test
+    void clashingGivensAreRejected() {
+        int[][] puzzle = new int[9][9];
+        puzzle[0][0] = 5;
+        puzzle[4][0] = 5;
+        assertFalse(dlx.solveSudoku(puzzle));
+
+        // The same instance is reset cleanly for the next board
+        int[][] next = SudokuTestSupport.newPuzzle();
+        int[][] solved = SudokuTestSupport.copy(next);
+        dlx.solveSudoku(solved);
+        SudokuTestSupport.assertSolves(next, solved);
+    }
+
+    @Test
+    void countsSolutionsUpToTheLimit() throws IOException {
+        for (String line : puzzles("seventeen")) {
+            int[][] puzzle = SudokuFormat.parseLine(line);
+            int[][] before = SudokuTestSupport.copy(puzzle);
+            assertEquals(1, dlx.countSolutions(puzzle, 2), line);
+            assertArrayEquals(before, puzzle, "board was modified");
+        }
+        for (String line : puzzles("unsolvable")) {
+            assertEquals(0, dlx.countSolutions(SudokuFormat.parseLine(line), 2), line);
+        }
+        assertEquals(5, dlx.countSolutions(new int[9][9], 5));
+    }
+
+    // Every search call either branches on a column or ends on the solution, one level per empty cell
+    @Test
+    void searchStatsDescribeTheSearchTree() throws IOException {
+        for (String line : puzzles("hard")) {
+            int[][] puzzle = SudokuFormat.parseLine(line);
+            long empty = line.chars().filter(c -> c == '.' || c == '0').count();
+            assertTrue(dlx.solveSudoku(puzzle), line);
+            SearchStats stats = dlx.getSearchStats();
+            assertEquals(stats.getNodes(), LongStream.of(stats.getBranching()).sum() + 1, line);
+            assertEquals(empty, (long) stats.getMaxDepth(), line);
+            assertTrue(stats.getBacktracks() < stats.getNodes(), line);
+        }
+        // A search that finds nothing undoes every cover but the four of each given
+        for (String line : puzzles("unsolvable")) {
+            long clues = line.chars().filter(c -> c >= '1' && c <= '9').count();
+            assertEquals(0, dlx.countSolutions(SudokuFormat.parseLine(line), 2), line);
+            SearchStats stats = dlx.getSearchStats();
+            assertEquals(4 * clues, stats.getCovers() - stats.getUncovers(), line);
+        }
+    }
+
+    private static List<String> puzzles(String name) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                DLXTest.class.getResourceAsStream("/puzzles/" + name + ".txt"), StandardCharsets.UTF_8))) {
+            return reader.lines().filter(line -> !line.isBlank() && !line.startsWith("#")).toList();
+        }
+    }
+}
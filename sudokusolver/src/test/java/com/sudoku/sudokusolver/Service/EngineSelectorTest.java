@@ -0,0 +1,40 @@
+package com.sudoku.sudokusolver.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class EngineSelectorTest {
+
+    // 17-clue boards (density 0.52-0.54) go to the logical solver, easy and hard ones (up to 0.47) to Bitmask
+    @Test
+    void minimalBoardsGoToTheLogicalSolver() throws IOException {
+        for (String line : puzzles("seventeen")) {
+            assertEquals(Engine.LOGIC, EngineSelector.choose(SudokuFormat.parseLine(line)), line);
+        }
+        for (String name : new String[] { "easy", "hard" }) {
+            for (String line : puzzles(name)) {
+                assertEquals(Engine.BITMASK, EngineSelector.choose(SudokuFormat.parseLine(line)), line);
+            }
+        }
+    }
+
+    @Test
+    void otherSizesGoToBitmask() {
+        assertEquals(Engine.BITMASK, EngineSelector.choose(new int[4][4]));
+        assertEquals(Engine.BITMASK, EngineSelector.choose(new int[16][16]));
+    }
+
+    private static List<String> puzzles(String name) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                EngineSelectorTest.class.getResourceAsStream("/puzzles/" + name + ".txt"), StandardCharsets.UTF_8))) {
+            return reader.lines().filter(line -> !line.isBlank() && !line.startsWith("#")).toList();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.sudoku.sudokusolver.Service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class LogicSolverTest {
+
+    private final LogicSolver solver = new LogicSolver();
+
+    // One fixed puzzle per technique and a step of that technique its trace must contain. The bundled
+    // corpora only need singles, locked candidates and pairs, so the rest were picked from generated
+    // minimal puzzles whose hardest step is that technique.
+    private static final String[][] FIXTURES = {
+            { "NAKED_SINGLE", "..3..5............6...7.1.......792.94.6.3..1.....4..5.9...6..3..48...........572", "NS r5c8=8" },
+            { "HIDDEN_SINGLE", ".5.........738...5.8...71.6......6...23.7.89....4.2..7....213......54.....8......", "HS r3c4=5 r3" },
+            { "LOCKED_CANDIDATES", ".5.........738...5.8...71.6......6...23.7.89....4.2..7....213......54.....8......", "LC 9 r3>b1 -4" },
+            { "NAKED_PAIR", "1..3.6..........75..2.8....58.......7..69.....3.....81......1...4....73..5..12.4.", "NP 2,4 c5 -3" },
+            { "HIDDEN_PAIR", "65.........1....2..2.........7.5.89.....6.5.......43......4......379..45.98..17..", "HP 4,6 r2 -2" },
+            { "NAKED_TRIPLE", ".24..687..8..3....1..4.....57.3........9.4..1.1...5...74.5....69..........6.2.3..", "NT 5,7,8 r3 -2" },
+            { "HIDDEN_TRIPLE", ".9..13..6..2..4...3..86.1...6......3.49....75...4.7...8..............3..9...51..8", "HT 1,5,9 b9 -8" },
+            { "X_WING", "..9....87.....6......87..512.79.....3.........957.3.2.5.......44.8..2.7..6.......", "XW 1 r6r8 -7" },
+            { "SWORDFISH", "2.4.3.....6......5...69.....7.4...511.2....6.9..7...4.7..3.......6.194....5....2.", "SF 8 c3c5c7 -4" },
+            { "SEARCH", ".5.........738...5.8...71.6......6...23.7.89....4.2..7....213......54.....8......", "DLX 47" } };
+
+    @Test
+    void tracesEveryStep() throws IOException {
+        int singlesOnly = 0;
+        for (String line : puzzles("easy")) {
+            int[][] puzzle = SudokuFormat.parseLine(line);
+            int[][] solved = SudokuTestSupport.copy(puzzle);
+            assertTrue(solver.solveSudoku(solved, true, Deadline.none()), line);
+            SudokuTestSupport.assertSolves(puzzle, solved);
+            assertEquals(solver.getStepCount(), solver.getTrace().size());
+            int score = 0;
+            for (String step : solver.getTrace()) {
+                Technique technique = techniqueOf(step);
+                score += technique.getWeight();
+            }
+            assertEquals(solver.getScore(), score);
+            if (solver.getHardest().compareTo(Technique.HIDDEN_SINGLE) <= 0) {
+                singlesOnly++;
+            }
+        }
+        // Most of the easy corpus needs nothing beyond singles
+        assertTrue(singlesOnly > puzzles("easy").size() / 2, String.valueOf(singlesOnly));
+    }
+
+    // A wrong elimination would leave these without a valid solution
+    @Test
+    void corporaKeepTheirSolution() throws IOException {
+        Set<Technique> used = EnumSet.noneOf(Technique.class);
+        for (String name : new String[] { "hard", "seventeen" }) {
+            for (String line : puzzles(name)) {
+                int[][] puzzle = SudokuFormat.parseLine(line);
+                int[][] solved = SudokuTestSupport.copy(puzzle);
+                assertTrue(solver.solveSudoku(solved), line);
+                SudokuTestSupport.assertSolves(puzzle, solved);
+                used.addAll(solver.getTechniqueCounts().keySet());
+            }
+        }
+        for (int i = 0; i < 200; i++) {
+            int[][] puzzle = SudokuTestSupport.newPuzzle();
+            int[][] solved = SudokuTestSupport.copy(puzzle);
+            assertTrue(solver.solveSudoku(solved));
+            SudokuTestSupport.assertSolves(puzzle, solved);
+            used.addAll(solver.getTechniqueCounts().keySet());
+        }
+        assertTrue(used.contains(Technique.LOCKED_CANDIDATES), used.toString());
+        assertTrue(used.contains(Technique.NAKED_PAIR), used.toString());
+    }
+
+    // The fixture takes the expected step and still ends on the puzzle's unique solution
+    @ParameterizedTest
+    @MethodSource("fixtures")
+    void appliesTechnique(Technique technique, String line, String step) {
+        int[][] puzzle = SudokuFormat.parseLine(line);
+        int[][] solved = SudokuTestSupport.copy(puzzle);
+        assertTrue(solver.solveSudoku(solved, true, Deadline.none()), line);
+        assertTrue(solver.getTechniqueCounts().containsKey(technique), solver.getTechniqueCounts().toString());
+        assertTrue(solver.getTrace().contains(step), solver.getTrace().toString());
+
+        DLX dlx = new DLX();
+        assertEquals(1, dlx.countSolutions(puzzle, 2), line);
+        int[][] expected = SudokuTestSupport.copy(puzzle);
+        assertTrue(dlx.solveSudoku(expected));
+        assertArrayEquals(expected, solved);
+    }
+
+    @Test
+    void fixturesCoverEveryTechnique() {
+        Set<Technique> covered = EnumSet.noneOf(Technique.class);
+        for (String[] fixture : FIXTURES) {
+            covered.add(Technique.valueOf(fixture[0]));
+        }
+        assertEquals(EnumSet.allOf(Technique.class), covered);
+    }
+
+    static Stream<Arguments> fixtures() {
+        return Stream.of(FIXTURES).map(fixture -> Arguments.of(Technique.valueOf(fixture[0]), fixture[1], fixture[2]));
+    }
+
+    @Test
+    void reportsUnsolvableBoards() throws IOException {
+        for (String line : puzzles("unsolvable")) {
+            assertFalse(solver.solveSudoku(SudokuFormat.parseLine(line)), line);
+        }
+    }
+
+    @Test
+    void fullBoardsTakeNoSteps() {
+        int[][] board = SudokuTestSupport.copy(SudokuTestSupport.newPuzzle(9, 0));
+        assertTrue(solver.solveSudoku(board, true, Deadline.none()));
+        assertEquals(0, solver.getScore());
+        assertNull(solver.getHardest());
+        assertEquals(List.of(), solver.getTrace());
+    }
+
+    private static Technique techniqueOf(String step) {
+        String code = step.substring(0, step.indexOf(' '));
+        for (Technique technique : Technique.values()) {
+            if (technique.getCode().equals(code)) {
+                return technique;
+            }
+        }
+        throw new AssertionError("Unknown step " + step);
+    }
+
+    private static List<String> puzzles(String name) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                LogicSolverTest.class.getResourceAsStream("/puzzles/" + name + ".txt"), StandardCharsets.UTF_8))) {
+            return reader.lines().filter(line -> !line.isBlank() && !line.startsWith("#")).toList();
+        }
+    }
+}
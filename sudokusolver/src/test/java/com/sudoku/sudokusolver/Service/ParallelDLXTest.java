@@ -0,0 +1,54 @@
+package com.sudoku.sudokusolver.Service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ParallelDLXTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final ParallelDLX parallel = new ParallelDLX(pool, size -> new SolverPool<>(() -> new DLX(size), 8));
+    private final DLX dlx = new DLX();
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void agreesWithSequentialSearch() {
+        for (int i = 0; i < 200; i++) {
+            int[][] puzzle = i % 2 == 0 ? SudokuTestSupport.newPuzzle() : SudokuTestSupport.newPuzzle(9, 60);
+            int[][] solved = SudokuTestSupport.copy(puzzle);
+            assertEquals(1, parallel.solve(solved).getSolutionCount());
+            SudokuTestSupport.assertSolves(puzzle, solved);
+
+            int[][] counted = SudokuTestSupport.copy(puzzle);
+            assertEquals(dlx.countSolutions(puzzle, 20), parallel.count(counted, 20).getSolutionCount());
+            assertArrayEquals(puzzle, counted, "board was modified");
+        }
+    }
+
+    @Test
+    void countsPastTheFirstSubtreeAndStopsAtTheLimit() {
+        // The empty 4x4 board has 288 solutions spread over every subtree
+        assertEquals(288, parallel.count(new int[4][4], 1000).getSolutionCount());
+        assertEquals(100, parallel.count(new int[4][4], 100).getSolutionCount());
+        assertEquals(1000, parallel.count(new int[9][9], 1000).getSolutionCount());
+    }
+
+    @Test
+    void reportsBoardsWithoutSolution() {
+        int[][] clash = new int[9][9];
+        clash[0][0] = 5;
+        clash[0][8] = 5;
+        assertEquals(0, parallel.solve(clash).getSolutionCount());
+        int[][] deadCell = SudokuFormat.parseLine(
+                ".12345678" + "9........" + "........." + "........." + "........." + "........." + "........." + "........." + ".........");
+        assertEquals(0, parallel.count(deadCell, 2).getSolutionCount());
+    }
+}
@@ -0,0 +1,48 @@
+package com.sudoku.sudokusolver.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class PuzzleGeneratorTest {
+
+    private static final long BUDGET = TimeUnit.SECONDS.toNanos(1);
+
+    private final PuzzleGenerator generator = new PuzzleGenerator();
+    private final DLX counter = new DLX();
+
+    @ParameterizedTest
+    @EnumSource(value = Difficulty.class, names = { "EASY", "MEDIUM", "HARD" })
+    void digsUniquePuzzlesIntoTheBand(Difficulty difficulty) {
+        for (int i = 0; i < 10; i++) {
+            int[][] puzzle = generator.generate(difficulty.getMinClues(), difficulty.getMaxClues(), BUDGET);
+            assertEquals(1, counter.countSolutions(puzzle, 2), SudokuFormat.toLine(puzzle));
+            int clues = clues(puzzle);
+            assertTrue(clues >= difficulty.getMinClues() && clues <= difficulty.getMaxClues(), "clues " + clues);
+            assertEquals(difficulty, Difficulty.ofClues(clues));
+        }
+    }
+
+    @Test
+    void exhaustedBudgetStillGivesAUniquePuzzle() {
+        int[][] puzzle = generator.generate(PuzzleGenerator.MIN_CLUES, PuzzleGenerator.MIN_CLUES, 0);
+        assertEquals(1, counter.countSolutions(puzzle, 2));
+    }
+
+    private static int clues(int[][] puzzle) {
+        int clues = 0;
+        for (int[] row : puzzle) {
+            for (int value : row) {
+                if (value != 0) {
+                    clues++;
+                }
+            }
+        }
+        return clues;
+    }
+}
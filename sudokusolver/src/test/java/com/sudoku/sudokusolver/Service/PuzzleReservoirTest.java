@@ -0,0 +1,95 @@
+package com.sudoku.sudokusolver.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PuzzleReservoirTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SolveExecutor executor = new SolveExecutor(registry, 2, 16);
+    private final PuzzleReservoir reservoir = new PuzzleReservoir(new SudokuService(), executor, registry, 8, 4, 2, false);
+    private final DLX counter = new DLX();
+
+    @AfterEach
+    void shutdown() {
+        reservoir.shutdown();
+        executor.shutdown();
+    }
+
+    @Test
+    void servesUniquePuzzlesAndRefillsInTheBackground() throws InterruptedException {
+        reservoir.fill();
+        awaitDepth(Difficulty.MEDIUM, 8);
+        for (int i = 0; i < 20; i++) {
+            GeneratedPuzzle puzzle = reservoir.take(Difficulty.MEDIUM);
+            assertEquals(Difficulty.MEDIUM, puzzle.getDifficulty());
+            assertEquals(1, counter.countSolutions(puzzle.getBoard(), 2));
+        }
+        awaitDepth(Difficulty.MEDIUM, 8);
+
+        double served = registry.get("sudoku.reservoir.served").tag("difficulty", "medium").counter().count();
+        double starved = registry.get("sudoku.reservoir.starved").tag("difficulty", "medium").counter().count();
+        assertEquals(20, served + starved);
+        assertTrue(registry.get("sudoku.reservoir.filled").tag("difficulty", "medium").counter().count() >= 8 + served);
+        assertEquals(8, registry.get("sudoku.reservoir.depth").tag("difficulty", "medium").gauge().value());
+    }
+
+    // With a single worker every band gets a turn before any band gets its second one
+    @Test
+    void bandsTakeTurnsOnOneWorker() throws InterruptedException {
+        List<Difficulty> order = Collections.synchronizedList(new ArrayList<>());
+        // The worker waits until every band is queued, or it could requeue the first band before the last is in
+        CountDownLatch queued = new CountDownLatch(1);
+        SudokuService instant = new SudokuService() {
+            @Override
+            public GeneratedPuzzle generateUnique(Difficulty difficulty, Integer clues) {
+                try {
+                    queued.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                order.add(difficulty);
+                return new GeneratedPuzzle(new int[9][9], 0, difficulty, "0");
+            }
+        };
+        int capacity = 3 * PuzzleReservoir.REFILL_CHUNK;
+        PuzzleReservoir single = new PuzzleReservoir(instant, executor, new SimpleMeterRegistry(), capacity, 1, 1, false);
+        try {
+            single.fill();
+            queued.countDown();
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (order.size() < capacity * Difficulty.values().length && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            single.shutdown();
+        }
+
+        int bands = Difficulty.values().length;
+        assertEquals(capacity * bands, order.size());
+        List<Difficulty> firstTurns = order.subList(0, bands * PuzzleReservoir.REFILL_CHUNK);
+        assertEquals(EnumSet.allOf(Difficulty.class), EnumSet.copyOf(firstTurns));
+        for (Difficulty difficulty : Difficulty.values()) {
+            assertEquals(capacity, single.depth(difficulty));
+        }
+    }
+
+    private void awaitDepth(Difficulty difficulty, int depth) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (reservoir.depth(difficulty) < depth && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(depth, reservoir.depth(difficulty));
+    }
+}
@@ -0,0 +1,75 @@
+package com.sudoku.sudokusolver.Service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SolutionCacheTest {
+
+    // Every band, stack, row and column has a distinct clue count, so the normal form is exact
+    private static final String PUZZLE =
+            "417..98.5.32.5..4...8.2..1.8.5437.697.1586432.4..1.7..28.....71..32.1....64875...";
+
+    @Test
+    void symmetricVariantsShareOneEntry() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SolutionCache cache = new SolutionCache(true, 1000, Duration.ofMinutes(5), true, registry);
+        SudokuService service = new SudokuService(registry, cache);
+        int[][] puzzle = SudokuFormat.parseLine(PUZZLE);
+
+        assertEquals(SolveStatus.SOLVED, service.solve(Engine.DLX, SudokuTestSupport.copy(puzzle)).getStatus());
+
+        int[][][] variants = { relabel(puzzle), transpose(puzzle), swapFirstBands(puzzle), transpose(relabel(swapFirstBands(puzzle))) };
+        for (int[][] variant : variants) {
+            assertArrayEquals(CanonicalForm.of(puzzle).packed(), CanonicalForm.of(variant).packed());
+            SudokuResult result = service.solve(Engine.DLX, SudokuTestSupport.copy(variant));
+            assertEquals(SolveStatus.SOLVED, result.getStatus());
+            SudokuTestSupport.assertSolves(variant, result.getBoard());
+        }
+        assertEquals(1, cache.stats().missCount());
+        assertEquals(variants.length, cache.stats().hitCount());
+    }
+
+    @Test
+    void packRoundTrips() {
+        int[][] puzzle = SudokuTestSupport.newPuzzle();
+        int[][] unpacked = new int[9][9];
+        SudokuFormat.unpack(SudokuFormat.pack(puzzle), unpacked);
+        assertArrayEquals(puzzle, unpacked);
+    }
+
+    private static int[][] relabel(int[][] board) {
+        int[] map = { 0, 4, 7, 1, 9, 2, 8, 3, 6, 5 };
+        int[][] out = new int[9][9];
+        for (int i = 0; i < 9; i++) {
+            for (int j = 0; j < 9; j++) {
+                out[i][j] = map[board[i][j]];
+            }
+        }
+        return out;
+    }
+
+    private static int[][] transpose(int[][] board) {
+        int[][] out = new int[9][9];
+        for (int i = 0; i < 9; i++) {
+            for (int j = 0; j < 9; j++) {
+                out[j][i] = board[i][j];
+            }
+        }
+        return out;
+    }
+
+    private static int[][] swapFirstBands(int[][] board) {
+        int[][] out = SudokuTestSupport.copy(board);
+        for (int i = 0; i < 3; i++) {
+            out[i] = board[i + 3].clone();
+            out[i + 3] = board[i].clone();
+        }
+        return out;
+    }
+}
@@ -0,0 +1,121 @@
+package com.sudoku.sudokusolver.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SolutionStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void keepsSolutionsAcrossReopening() throws IOException {
+        Path path = dir.resolve("solutions.db");
+        List<int[][]> puzzles = new ArrayList<>();
+        SolutionStore store = SolutionStore.open(path);
+        for (int i = 0; i < 300; i++) {
+            int[][] puzzle = SudokuTestSupport.newPuzzle();
+            int[][] solution = SudokuTestSupport.copy(puzzle);
+            assertTrue(new DLX().solveSudoku(solution));
+            CanonicalForm form = CanonicalForm.of(puzzle);
+            if (store.append(form.packed(), SolveStatus.SOLVED, form.toCanonical(solution))) {
+                puzzles.add(puzzle);
+            }
+        }
+        int[][] dead = SudokuFormat.parseLine(".12345678" + "9" + ".".repeat(71));
+        assertTrue(store.append(CanonicalForm.of(dead).packed(), SolveStatus.UNSOLVABLE, null));
+        assertFalse(store.append(CanonicalForm.of(dead).packed(), SolveStatus.UNSOLVABLE, null));
+        store.close();
+
+        SolutionStore reopened = SolutionStore.open(path);
+        assertEquals(puzzles.size() + 1, reopened.size());
+        for (int[][] puzzle : puzzles) {
+            int[][] board = SudokuTestSupport.copy(puzzle);
+            assertEquals(SolveStatus.SOLVED, reopened.lookup(CanonicalForm.of(board), board));
+            SudokuTestSupport.assertSolves(puzzle, board);
+        }
+        assertEquals(SolveStatus.UNSOLVABLE, reopened.lookup(CanonicalForm.of(dead), SudokuTestSupport.copy(dead)));
+        assertNull(reopened.lookup(CanonicalForm.of(new int[9][9]), new int[9][9]));
+        reopened.close();
+    }
+
+    @Test
+    void dropsATornRecordOnReopening() throws IOException {
+        Path path = dir.resolve("torn.db");
+        SolutionStore store = SolutionStore.open(path);
+        int[][] first = SudokuTestSupport.newPuzzle();
+        int[][] second = SudokuTestSupport.newPuzzle();
+        for (int[][] puzzle : List.of(first, second)) {
+            int[][] solution = SudokuTestSupport.copy(puzzle);
+            new DLX().solveSudoku(solution);
+            store.append(CanonicalForm.of(puzzle).packed(), SolveStatus.SOLVED, CanonicalForm.of(puzzle).toCanonical(solution));
+        }
+        store.close();
+
+        // Simulate a crash halfway through writing the second record
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[20]), SolutionStore.RECORD_BYTES + 50);
+        }
+
+        SolutionStore reopened = SolutionStore.open(path);
+        assertEquals(1, reopened.size());
+        assertEquals(SolveStatus.SOLVED, reopened.lookup(CanonicalForm.of(first), SudokuTestSupport.copy(first)));
+        assertNull(reopened.lookup(CanonicalForm.of(second), SudokuTestSupport.copy(second)));
+        // The torn slot is reused by the next append
+        assertTrue(reopened.append(CanonicalForm.of(new int[9][9]).packed(), SolveStatus.SOLVED,
+                CanonicalForm.of(new int[9][9]).toCanonical(SudokuTestSupport.newPuzzle(9, 0))));
+        assertEquals(2, reopened.size());
+        reopened.close();
+    }
+
+    @Test
+    void refusesASecondWriter() throws IOException {
+        Path path = dir.resolve("locked.db");
+        SolutionStore store = SolutionStore.open(path);
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> SolutionStore.open(path));
+        assertTrue(e.getMessage().contains(path.toString()));
+        store.close();
+
+        // Closing releases the lock
+        SolutionStore.open(path).close();
+    }
+
+    @Test
+    void serviceWritesSolvesBackInTheBackground() throws Exception {
+        Path path = dir.resolve("service.db");
+        SolutionStore store = SolutionStore.open(path);
+        SudokuService service = new SudokuService(new SimpleMeterRegistry(), SolutionCache.disabled(), store, 100, 2000);
+        int[][] puzzle = SudokuTestSupport.newPuzzle();
+        assertEquals(SolveStatus.SOLVED, service.solve(Engine.DLX, SudokuTestSupport.copy(puzzle)).getStatus());
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (store.size() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        store.close();
+
+        // After a restart the same puzzle is answered from the file; without a cache the key is the plain puzzle
+        SolutionStore reopened = SolutionStore.open(path);
+        assertEquals(1, reopened.size());
+        int[][] board = SudokuTestSupport.copy(puzzle);
+        assertEquals(SolveStatus.SOLVED, reopened.lookup(CanonicalForm.identity(board), board));
+        SudokuTestSupport.assertSolves(puzzle, board);
+        reopened.close();
+    }
+}
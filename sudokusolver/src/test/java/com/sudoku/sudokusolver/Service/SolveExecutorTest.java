@@ -0,0 +1,122 @@
+package com.sudoku.sudokusolver.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SolveExecutorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    // One solver thread and room for one waiting request
+    private final SolveExecutor executor = new SolveExecutor(registry, 1, 1);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void rejectsRequestsBeyondTheQueue() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() -> executor.call(() -> {
+            running.countDown();
+            await(release);
+            return 1;
+        }));
+        running.await(5, TimeUnit.SECONDS);
+        CompletableFuture<Integer> second = CompletableFuture.supplyAsync(() -> executor.call(() -> 2));
+        while (registry.get("sudoku.solve.queue").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(SolveRejectedException.class, () -> executor.call(() -> 3));
+        assertEquals(1, registry.get("sudoku.solve.rejected").counter().count());
+
+        release.countDown();
+        assertEquals(1, first.get(5, TimeUnit.SECONDS));
+        assertEquals(2, second.get(5, TimeUnit.SECONDS));
+        // Once the queue drains requests are admitted again
+        assertEquals(4, executor.call(() -> 4));
+    }
+
+    @Test
+    void rethrowsWhatTheTaskThrows() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> executor.call(() -> { throw new IllegalArgumentException("Duplicate 4 in row 1"); }));
+        assertEquals("Duplicate 4 in row 1", e.getMessage());
+    }
+
+    // The deadline is taken when the request is admitted, so a request that waited out its timeout in the
+    // queue stops at the engine's first deadline check instead of searching for the full timeout
+    @Test
+    void queuedTimeCountsAgainstTheDeadline() throws Exception {
+        SudokuService service = new SudokuService(registry, SolutionCache.disabled(), SolutionStore.disabled(), 100, 50);
+        CountDownLatch running = new CountDownLatch(1);
+        CompletableFuture<Integer> busy = CompletableFuture.supplyAsync(() -> executor.call(() -> {
+            running.countDown();
+            sleep(100);
+            return 1;
+        }));
+        running.await(5, TimeUnit.SECONDS);
+
+        Deadline deadline = service.newDeadline();
+        SudokuResult result = executor.call(() -> service.solve(Engine.BACKTRACKING, new int[25][25], deadline, false));
+        assertEquals(SolveStatus.TIMEOUT, result.getStatus());
+        // Backtracking looks at the deadline every 1024 nodes
+        assertEquals(1024, result.getNodes());
+        assertEquals(1, busy.get(5, TimeUnit.SECONDS));
+        service.shutdown();
+    }
+
+    // A caller that stops waiting takes its search down with it instead of leaving it to run out the timeout
+    @Test
+    void abandonedSolvesStop() throws Exception {
+        SudokuService service = new SudokuService(registry, SolutionCache.disabled(), SolutionStore.disabled(), 100,
+                TimeUnit.HOURS.toMillis(1));
+        Deadline deadline = service.newDeadline();
+        Thread caller = new Thread(() -> {
+            try {
+                executor.call(deadline, () -> service.solve(Engine.BACKTRACKING, new int[25][25], deadline, false));
+            } catch (IllegalStateException e) {
+                // Interrupted while waiting
+            }
+        });
+        caller.start();
+        while (registry.get("sudoku.solve.active").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+        caller.interrupt();
+        caller.join(5000);
+
+        assertTrue(deadline.isExpired());
+        // The solver thread is free for the next request long before the hour is up
+        assertEquals(1, CompletableFuture.supplyAsync(() -> executor.call(() -> 1)).get(5, TimeUnit.SECONDS));
+        service.shutdown();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
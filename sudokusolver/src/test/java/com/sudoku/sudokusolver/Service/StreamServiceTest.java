@@ -0,0 +1,111 @@
+package com.sudoku.sudokusolver.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class StreamServiceTest {
+
+    // A small window forces the reader to block on the workers
+    private final SolveExecutor executor = new SolveExecutor(new SimpleMeterRegistry(), 4, 16);
+    private final StreamService streamService = new StreamService(new SudokuService(), executor, 3);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void orderedOutputFollowsInput() throws Exception {
+        List<String> puzzles = puzzles(100);
+        StringWriter out = new StringWriter();
+
+        long count = streamService.solve(new StringReader(String.join("\n", puzzles)), out, StreamFormat.LINE, true);
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(puzzles.size(), count);
+        assertEquals(puzzles.size(), lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            String[] fields = lines[i].split(",");
+            assertEquals(puzzles.get(i), fields[0]);
+            SudokuTestSupport.assertSolves(SudokuFormat.parseLine(fields[0]), SudokuFormat.parseLine(fields[1]));
+        }
+    }
+
+    @Test
+    void unorderedOutputCoversEveryPuzzle() throws Exception {
+        List<String> puzzles = puzzles(100);
+        StringWriter out = new StringWriter();
+
+        streamService.solve(new StringReader(String.join("\n", puzzles)), out, StreamFormat.LINE, false);
+
+        Set<String> answered = new HashSet<>();
+        for (String line : out.toString().split("\n")) {
+            answered.add(line.split(",")[0]);
+        }
+        assertEquals(new HashSet<>(puzzles), answered);
+    }
+
+    // A window larger than the executor's queue makes the stream wait for its own puzzles instead of failing
+    @Test
+    void waitsWhenTheQueueIsFull() throws Exception {
+        SolveExecutor narrow = new SolveExecutor(new SimpleMeterRegistry(), 1, 1);
+        StreamService wide = new StreamService(new SudokuService(), narrow, 8);
+        List<String> puzzles = puzzles(50);
+        try {
+            for (boolean ordered : new boolean[] { true, false }) {
+                StringWriter out = new StringWriter();
+                assertEquals(puzzles.size(), wide.solve(new StringReader(String.join("\n", puzzles)), out, StreamFormat.LINE, ordered));
+                assertEquals(puzzles.size(), out.toString().split("\n").length);
+            }
+        } finally {
+            narrow.shutdown();
+        }
+    }
+
+    // A solve that throws answers its own puzzle with an error line and the stream goes on
+    @Test
+    void failingSolveDoesNotEndTheStream() throws Exception {
+        List<String> puzzles = puzzles(20);
+        String failing = puzzles.get(5);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        StreamService failingStream = new StreamService(new SudokuService(registry, SolutionCache.disabled()) {
+            @Override
+            public SudokuResult solve(Engine engine, int[][] board) {
+                if (SudokuFormat.toLine(board).equals(failing)) {
+                    throw new IllegalStateException("engine crashed");
+                }
+                return super.solve(engine, board);
+            }
+        }, executor, 3);
+        StringWriter out = new StringWriter();
+        failingStream.solve(new StringReader(String.join("\n", puzzles)), out, StreamFormat.NDJSON, true);
+
+        String[] lines = out.toString().split("\n");
+        assertEquals(puzzles.size(), lines.length);
+        assertTrue(lines[5].contains("\"status\":\"ERROR\""), lines[5]);
+        assertFalse(lines[5].contains("engine crashed"), lines[5]);
+        assertEquals(1, registry.get("sudoku.boards").tag("outcome", "error").counter().count());
+        assertTrue(lines[6].contains("\"status\":\"SOLVED\""), lines[6]);
+    }
+
+    private static List<String> puzzles(int count) {
+        List<String> puzzles = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            puzzles.add(SudokuFormat.toLine(SudokuTestSupport.newPuzzle()));
+        }
+        return puzzles;
+    }
+}
@@ -0,0 +1,64 @@
+package com.sudoku.sudokusolver.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+class SudokuServiceConcurrencyTest {
+
+    private static final int THREADS = 32;
+    private static final int SOLVES = 4000;
+
+    @Test
+    void parallelDlxSolvesDoNotInterfere() throws Exception {
+        SudokuService service = new SudokuService();
+        int[][][] puzzles = new int[64][][];
+        for (int i = 0; i < puzzles.length; i++) {
+            puzzles[i] = SudokuTestSupport.newPuzzle();
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < SOLVES; i++) {
+                int[][] puzzle = puzzles[i % puzzles.length];
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    int[][] board = SudokuTestSupport.copy(puzzle);
+                    SudokuResult result = service.solve(Engine.DLX, board);
+                    assertEquals(SolveStatus.SOLVED, result.getStatus());
+                    assertNull(result.getMessage());
+                    SudokuTestSupport.assertSolves(puzzle, result.getBoard());
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void poolRetainsAtMostMaxIdleSolvers() {
+        SolverPool<DLX> pool = new SolverPool<>(DLX::new, 2);
+        DLX a = pool.checkout();
+        DLX b = pool.checkout();
+        DLX c = pool.checkout();
+        pool.release(a);
+        pool.release(b);
+        pool.release(c);
+        assertEquals(2, pool.idleCount());
+    }
+}
@@ -0,0 +1,180 @@
+package com.sudoku.sudokusolver.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class SudokuServiceEnginesTest {
+
+    // Cell (0,0) has no candidate left: 1-8 are in its row and 9 in its column
+    private static final String DEAD_CELL =
+            ".12345678" + "9........" + "........." + "........." + "........." + "........." + "........." + "........." + ".........";
+    private static final String SEVENTEEN_CLUES =
+            ".......1.4.........2...........5.4.7..8...3....1.9....3..4..2...5.1........8.6...";
+
+    private final SudokuService service = new SudokuService();
+
+    @ParameterizedTest
+    @EnumSource(Engine.class)
+    void solvesGeneratedPuzzles(Engine engine) {
+        for (int i = 0; i < 50; i++) {
+            int[][] puzzle = SudokuTestSupport.newPuzzle();
+            SudokuResult result = service.solve(engine, SudokuTestSupport.copy(puzzle));
+            assertEquals(SolveStatus.SOLVED, result.getStatus());
+            SudokuTestSupport.assertSolves(puzzle, result.getBoard());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(Engine.class)
+    void reportsUnsolvableBoards(Engine engine) {
+        SudokuResult result = service.solve(engine, SudokuFormat.parseLine(DEAD_CELL));
+        assertEquals(SolveStatus.UNSOLVABLE, result.getStatus());
+    }
+
+    @ParameterizedTest
+    @EnumSource(Engine.class)
+    void rejectsClashingGivensBeforeSearching(Engine engine) {
+        int[][] board = new int[9][9];
+        board[0][0] = 4;
+        board[0][8] = 4;
+        SudokuResult result = service.solve(engine, board);
+        assertEquals(SolveStatus.INVALID, result.getStatus());
+        assertEquals("Duplicate 4 in row 1", result.getMessage());
+    }
+
+    @Test
+    void picksTheLogicSolverForSparseBoardsAndBitmaskOtherwise() {
+        int[][] minimal = SudokuFormat.parseLine(SEVENTEEN_CLUES);
+        SudokuResult result = service.solve(SudokuTestSupport.copy(minimal));
+        assertEquals(Engine.LOGIC, result.getEngine());
+        SudokuTestSupport.assertSolves(minimal, result.getBoard());
+
+        for (int size : new int[] { 9, 16 }) {
+            int[][] puzzle = SudokuTestSupport.newPuzzle(size, size * size * 2 / 5);
+            result = service.solve(SudokuTestSupport.copy(puzzle));
+            assertEquals(Engine.BITMASK, result.getEngine());
+            SudokuTestSupport.assertSolves(puzzle, result.getBoard());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(Engine.class)
+    void reportsSearchStatsOnlyWhenAskedFor(Engine engine) {
+        int[][] puzzle = SudokuTestSupport.newPuzzle();
+        SudokuResult result = service.solve(engine, SudokuTestSupport.copy(puzzle), true);
+        assertEquals(SolveStatus.SOLVED, result.getStatus());
+        assertTrue(result.getStats().getNodes() > 0 || engine == Engine.LOGIC);
+        assertTrue(result.getStats().getBacktracks() <= result.getStats().getNodes());
+        assertNull(service.solve(engine, SudokuTestSupport.copy(puzzle)).getStats());
+    }
+
+    @Test
+    void searchStatsReachTheMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SudokuService measured = new SudokuService(registry, SolutionCache.disabled());
+        SudokuResult result = measured.solve(Engine.DLX, SudokuFormat.parseLine(SEVENTEEN_CLUES), true);
+        DistributionSummary nodes = registry.get("sudoku.search.nodes").tag("engine", "dlx").tag("op", "solve").summary();
+        assertEquals(1, nodes.count());
+        assertEquals(result.getStats().getNodes(), (long) nodes.totalAmount());
+        DistributionSummary backtracks = registry.get("sudoku.search.backtracks").tag("engine", "dlx").tag("op", "solve")
+                .summary();
+        assertEquals(result.getStats().getBacktracks(), (long) backtracks.totalAmount());
+        DistributionSummary uncovers = registry.get("sudoku.search.uncovers").tag("engine", "dlx").tag("op", "solve")
+                .summary();
+        assertEquals(result.getStats().getUncovers(), (long) uncovers.totalAmount());
+        long branches = registry.get("sudoku.search.branches").tag("engine", "dlx").tag("op", "solve").counters().stream()
+                .mapToLong(counter -> (long) counter.count()).sum();
+        assertEquals(result.getStats().getNodes() - 1, branches);
+    }
+
+    @Test
+    void countsKeepApartFromTheSolveMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SudokuService measured = new SudokuService(registry, SolutionCache.disabled());
+        CountResult sequential = measured.count(SudokuFormat.parseLine(SEVENTEEN_CLUES), 2, false);
+        CountResult parallel = measured.count(SudokuFormat.parseLine(SEVENTEEN_CLUES), 2, true);
+        DistributionSummary dlx = registry.get("sudoku.search.nodes").tag("engine", "dlx").tag("op", "count").summary();
+        DistributionSummary dlxParallel = registry.get("sudoku.search.nodes").tag("engine", "dlx_parallel").tag("op", "count")
+                .summary();
+        assertEquals(sequential.getNodes(), (long) dlx.totalAmount());
+        assertEquals(parallel.getNodes(), (long) dlxParallel.totalAmount());
+        assertEquals(sequential.getBacktracks(),
+                (long) registry.get("sudoku.search.backtracks").tag("engine", "dlx").tag("op", "count").summary().totalAmount());
+        assertEquals(0, registry.get("sudoku.search.nodes").tag("engine", "dlx").tag("op", "solve").summary().count());
+    }
+
+    // Request parameters resolve the same whatever the server's default locale; Turkish upper-cases i to İ
+    @Test
+    void namesResolveUnderAnyLocale() {
+        Locale original = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            assertEquals(Engine.BITMASK, Engine.fromName("bitmask"));
+            assertEquals(Difficulty.MEDIUM, Difficulty.fromName("medium"));
+            assertEquals(StreamFormat.LINE, StreamFormat.fromName("line"));
+        } finally {
+            Locale.setDefault(original);
+        }
+    }
+
+    @Test
+    void invalidBoardsNameNoEngine() {
+        SudokuResult result = service.solve(new int[9][8]);
+        assertEquals(SolveStatus.INVALID, result.getStatus());
+        assertNull(result.getEngine());
+    }
+
+    @Test
+    void countsNoSolutionsForADeadCell() {
+        CountResult result = service.count(SudokuFormat.parseLine(DEAD_CELL), 2);
+        assertEquals(0, result.getCount());
+        assertTrue(result.isComplete());
+        assertEquals(0, result.getNodes());
+    }
+
+    @ParameterizedTest
+    // Random 25x25 boards can take DLX hundreds of thousands of nodes, so fewer of them and without a timeout;
+    // plain backtracking has no pruning at all and is only checked on 4x4
+    @CsvSource({ "DLX,4,10", "DLX,16,10", "DLX,25,2", "BITMASK,4,10", "BITMASK,16,10", "BITMASK,25,2",
+            "BACKTRACKING,4,10" })
+    void solvesOtherBoardSizes(Engine engine, int size, int puzzles) {
+        for (int i = 0; i < puzzles; i++) {
+            int[][] puzzle = SudokuTestSupport.newPuzzle(size, size * size * 2 / 5);
+            SudokuResult result = service.solve(engine, SudokuTestSupport.copy(puzzle), Deadline.none());
+            assertEquals(SolveStatus.SOLVED, result.getStatus());
+            SudokuTestSupport.assertSolves(puzzle, result.getBoard());
+        }
+    }
+
+    // An empty 25x25 board takes every engine past its first deadline check, and plain backtracking never finishes it
+    @ParameterizedTest
+    @EnumSource(Engine.class)
+    void cancelledSolvesReportTimeout(Engine engine) {
+        Deadline deadline = Deadline.after(TimeUnit.HOURS.toNanos(1));
+        deadline.cancel();
+        SudokuResult result = service.solve(engine, new int[25][25], deadline);
+        assertEquals(SolveStatus.TIMEOUT, result.getStatus());
+        assertNull(result.getBoard());
+        assertTrue(result.getNodes() > 0);
+    }
+
+    @Test
+    void expiredDeadlineFreesTheThread() {
+        long start = System.nanoTime();
+        SudokuResult result = service.solve(Engine.BACKTRACKING, new int[25][25], Deadline.after(TimeUnit.MILLISECONDS.toNanos(50)));
+        assertEquals(SolveStatus.TIMEOUT, result.getStatus());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,56 @@
+package com.sudoku.sudokusolver.Service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Shared helpers for solver tests
+final class SudokuTestSupport {
+
+    private SudokuTestSupport() {
+    }
+
+    // Fresh puzzle from the service's own generator
+    static int[][] newPuzzle() {
+        return newPuzzle(9, 40);
+    }
+
+    static int[][] newPuzzle(int size, int blanks) {
+        Sudoku sudoku = new Sudoku(size, blanks);
+        sudoku.fillValues();
+        return sudoku.getMat();
+    }
+
+    static int[][] copy(int[][] grid) {
+        int[][] copy = new int[grid.length][];
+        for (int i = 0; i < grid.length; i++) {
+            copy[i] = grid[i].clone();
+        }
+        return copy;
+    }
+
+    // Check that solved is a complete valid grid that keeps every given of puzzle
+    static void assertSolves(int[][] puzzle, int[][] solved) {
+        int n = puzzle.length;
+        int box = (int) Math.sqrt(n);
+        int[] rows = new int[n];
+        int[] cols = new int[n];
+        int[] boxes = new int[n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                int value = solved[i][j];
+                assertTrue(value >= 1 && value <= n, "cell (" + i + "," + j + ") not filled");
+                if (puzzle[i][j] != 0) {
+                    assertEquals(puzzle[i][j], value, "given at (" + i + "," + j + ") changed");
+                }
+                int bit = 1 << value;
+                int b = (i / box) * box + j / box;
+                assertEquals(0, rows[i] & bit, "duplicate in row " + i);
+                assertEquals(0, cols[j] & bit, "duplicate in column " + j);
+                assertEquals(0, boxes[b] & bit, "duplicate in box " + b);
+                rows[i] |= bit;
+                cols[j] |= bit;
+                boxes[b] |= bit;
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.sudoku.sudokusolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sudoku.sudokusolver.Service.CanonicalForm;
+import com.sudoku.sudokusolver.Service.SolutionStore;
+import com.sudoku.sudokusolver.Service.SolveStatus;
+import com.sudoku.sudokusolver.Service.SudokuFormat;
+
+class SolutionStoreImportTest {
+
+    private static final String SOLVABLE = ".5.9.6.17637.4....1...3.6....6.5..2....47.8368....9..4..528.1.3281....6537..1....";
+    private static final String UNSOLVABLE = "8.......4..36......7..9.2...5...7.......457.....1...3...1....68..85...1..9....4..";
+
+    @TempDir
+    Path dir;
+
+    // An UNSOLVABLE claim is only stored when DLX agrees
+    @Test
+    void rejectsSolvablePuzzlesMarkedUnsolvable() throws Exception {
+        Path input = dir.resolve("puzzles.txt");
+        Path path = dir.resolve("solutions.db");
+        Files.write(input, List.of(SOLVABLE + ",UNSOLVABLE", UNSOLVABLE + ",UNSOLVABLE"));
+        SolutionStoreImport.main(new String[] { path.toString(), input.toString() });
+
+        SolutionStore store = SolutionStore.open(path);
+        try {
+            assertEquals(1, store.size());
+            assertNull(lookup(store, SOLVABLE));
+            assertEquals(SolveStatus.UNSOLVABLE, lookup(store, UNSOLVABLE));
+        } finally {
+            store.close();
+        }
+    }
+
+    private static SolveStatus lookup(SolutionStore store, String line) {
+        int[][] board = SudokuFormat.parseLine(line);
+        return store.lookup(CanonicalForm.of(board), board);
+    }
+}
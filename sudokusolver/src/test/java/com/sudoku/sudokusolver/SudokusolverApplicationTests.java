@@ -3,7 +3,8 @@ package com.sudoku.sudokusolver;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// The reservoir is left empty so the context starts without generating puzzles
+@SpringBootTest(properties = "sudoku.reservoir.prefill=false")
 class SudokusolverApplicationTests {
 
 	@Test